@@ -2,21 +2,34 @@ package io.vladprotchenko.authapi;
 
 import feign.FeignException;
 import io.vladprotchenko.authapi.config.FeignClientConfiguration;
+import io.vladprotchenko.authapi.dto.response.AccountChangesResponse;
 import io.vladprotchenko.authapi.dto.response.AccountDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @FeignClient(
         name = "auth-service",
         path = "api/v1",
+        qualifiers = AuthServiceApi.FEIGN_CLIENT,
+        primary = false,
         configuration = FeignClientConfiguration.class
 )
 public interface AuthServiceApi {
 
+    /**
+     * Qualifier of the plain Feign client, for wrapping it in decorators.
+     */
+    String FEIGN_CLIENT = "authServiceFeignClient";
+
     /**
      * Retrieves a user profile by their accountId from the accounting-service.
      *
@@ -27,9 +40,21 @@ public interface AuthServiceApi {
      * status if the user is not found.
      * @throws FeignException if there is an issue with the communication with the auth-service.
      */
-    @GetMapping("/account/{accountId}")
+    @GetMapping("/accounting/{accountId}")
     ResponseEntity<?> getUserProfileById(@PathVariable("accountId") UUID accountId);
 
+    /**
+     * Retrieves user profiles by their accountIds from the accounting-service in one call.
+     *
+     * <p>Unknown or deleted accounts are left out of the result. The accounting-service accepts up to 500 accountIds
+     * per call.
+     * @param accountIds the accountIds of the users to retrieve.
+     * @return the found profiles in request order.
+     * @throws FeignException if there is an issue with the communication with the auth-service.
+     */
+    @PostMapping("/accounting/profiles")
+    List<AccountDto> getUserProfilesByIds(@RequestBody Collection<UUID> accountIds);
+
     /**
      * Retrieves a user profile by their authentication from the accounting-service.
      *
@@ -42,4 +67,21 @@ public interface AuthServiceApi {
     @GetMapping("/account")
     ResponseEntity<?> getUserProfileByAuthentication();
 
+    /**
+     * Reads accounts changed after the given cursor from the accounting-service change feed.
+     *
+     * <p>When nothing changed the call is held open for up to {@code waitSeconds} before returning an empty page, so
+     * callers can loop on it without a sleep. Requires admin rights.
+     * @param cursor the {@code nextCursor} of the previous page, or {@code null} to start from the beginning.
+     * @param limit the maximum number of changes to return.
+     * @param waitSeconds how long to wait for changes when there are none.
+     * @return the changed accounts in change order and the cursor to continue from.
+     * @throws FeignException if there is an issue with the communication with the auth-service.
+     */
+    @GetMapping("/accounting/changes")
+    AccountChangesResponse getAccountChanges(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("limit") int limit,
+            @RequestParam("waitSeconds") int waitSeconds);
+
 }
@@ -0,0 +1,181 @@
+package io.vladprotchenko.authapi.client;
+
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authapi.exception.CustomFeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Collects single profile lookups from concurrent threads and resolves them with one batch call.
+ *
+ * <p>A batch is sent when it reaches {@code maxBatchSize} or {@code window} after its first lookup, whichever comes
+ * first; lookups of the same accountId within a batch share one slot. Batches are kept per caller credentials and
+ * the batch call runs with the authentication of the callers that formed it, so {@code FeignClientInterceptor}
+ * forwards the same bearer token a single call would have.
+ *
+ * <p>{@link #loadNow(UUID)} waits at most {@code loadTimeout} for its batch. Closing the batcher sends the batches
+ * still open, so no lookup is left waiting for a flush that will never run; lookups made after that fail at once.
+ */
+@Slf4j
+public class AccountProfileBatcher implements AutoCloseable {
+
+    private final Function<List<UUID>, List<AccountDto>> batchLoader;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Duration loadTimeout;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("account-profile-batcher").daemon().factory());
+    private final ExecutorService loaders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<Object, Batch> openBatches = new HashMap<>();
+    private boolean closed;
+
+    public AccountProfileBatcher(
+            Function<List<UUID>, List<AccountDto>> batchLoader,
+            Duration window,
+            int maxBatchSize,
+            Duration loadTimeout) {
+        this.batchLoader = batchLoader;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.loadTimeout = loadTimeout;
+    }
+
+    /**
+     * @return future completed with the profile, or an empty optional if the account does not exist
+     */
+    public CompletableFuture<Optional<AccountDto>> load(UUID accountId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object credentialsKey = authentication == null || authentication.getCredentials() == null
+            ? ""
+            : authentication.getCredentials();
+
+        Batch full = null;
+        CompletableFuture<Optional<AccountDto>> future;
+        synchronized (openBatches) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Account profile batcher is closed"));
+            }
+            Batch batch = openBatches.get(credentialsKey);
+            if (batch == null) {
+                batch = new Batch(credentialsKey, authentication);
+                openBatches.put(credentialsKey, batch);
+                Batch scheduled = batch;
+                scheduler.schedule(() -> flush(scheduled), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            future = batch.pending.computeIfAbsent(accountId, id -> new CompletableFuture<>());
+            if (batch.pending.size() >= maxBatchSize) {
+                openBatches.remove(credentialsKey);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * Blocking variant of {@link #load(UUID)} that rethrows the batch call's failure as is.
+     *
+     * @throws CustomFeignException with status 504 if the batch does not resolve within {@code loadTimeout}
+     */
+    public Optional<AccountDto> loadNow(UUID accountId) {
+        try {
+            // copy() so the timeout fails only this caller, not everyone sharing the slot
+            return load(accountId).copy().orTimeout(loadTimeout.toNanos(), TimeUnit.NANOSECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                throw new CustomFeignException(
+                    "Profile lookup timed out after " + loadTimeout, HttpStatus.GATEWAY_TIMEOUT.value());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        List<Batch> remaining;
+        synchronized (openBatches) {
+            closed = true;
+            remaining = new ArrayList<>(openBatches.values());
+            openBatches.clear();
+        }
+        remaining.forEach(this::dispatch);
+        scheduler.shutdownNow();
+        loaders.shutdown();
+    }
+
+    private void flush(Batch batch) {
+        synchronized (openBatches) {
+            if (!openBatches.remove(batch.credentialsKey, batch)) {
+                return;
+            }
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        try {
+            loaders.execute(() -> resolve(batch));
+        } catch (RejectedExecutionException e) {
+            // a full batch taken just before close() shut the loaders down
+            batch.pending.values().forEach(future -> future.completeExceptionally(
+                new IllegalStateException("Account profile batcher is closed", e)));
+        }
+    }
+
+    private void resolve(Batch batch) {
+        List<UUID> accountIds = new ArrayList<>(batch.pending.keySet());
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(batch.authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            Map<UUID, AccountDto> found = new HashMap<>();
+            for (AccountDto profile : batchLoader.apply(accountIds)) {
+                found.put(UUID.fromString(profile.getAccountId()), profile);
+            }
+            batch.pending.forEach((accountId, future) -> future.complete(Optional.ofNullable(found.get(accountId))));
+            log.debug("Resolved {} profile lookups with one batch call", accountIds.size());
+        } catch (RuntimeException e) {
+            batch.pending.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static final class Batch {
+        final Object credentialsKey;
+        final Authentication authentication;
+        final Map<UUID, CompletableFuture<Optional<AccountDto>>> pending = new LinkedHashMap<>();
+
+        Batch(Object credentialsKey, Authentication authentication) {
+            this.credentialsKey = credentialsKey;
+            this.authentication = authentication;
+        }
+    }
+}
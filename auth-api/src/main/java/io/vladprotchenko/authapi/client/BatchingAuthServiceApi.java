@@ -0,0 +1,49 @@
+package io.vladprotchenko.authapi.client;
+
+import io.vladprotchenko.authapi.AuthServiceApi;
+import io.vladprotchenko.authapi.dto.response.AccountChangesResponse;
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authapi.exception.CustomFeignException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link AuthServiceApi} that routes {@link #getUserProfileById(UUID)} through an {@link AccountProfileBatcher}, so
+ * concurrent single lookups reach the auth-service as one {@link #getUserProfilesByIds(Collection)} call. A missing
+ * account fails with a 404 {@link CustomFeignException}, as the single endpoint does.
+ */
+public class BatchingAuthServiceApi implements AuthServiceApi {
+
+    private final AuthServiceApi delegate;
+    private final AccountProfileBatcher batcher;
+
+    public BatchingAuthServiceApi(AuthServiceApi delegate, AccountProfileBatcher batcher) {
+        this.delegate = delegate;
+        this.batcher = batcher;
+    }
+
+    @Override
+    public ResponseEntity<?> getUserProfileById(UUID accountId) {
+        return ResponseEntity.ok(batcher.loadNow(accountId).orElseThrow(() -> new CustomFeignException(
+            String.format("Account with ID: %s not found", accountId), HttpStatus.NOT_FOUND.value())));
+    }
+
+    @Override
+    public List<AccountDto> getUserProfilesByIds(Collection<UUID> accountIds) {
+        return delegate.getUserProfilesByIds(accountIds);
+    }
+
+    @Override
+    public ResponseEntity<?> getUserProfileByAuthentication() {
+        return delegate.getUserProfileByAuthentication();
+    }
+
+    @Override
+    public AccountChangesResponse getAccountChanges(String cursor, int limit, int waitSeconds) {
+        return delegate.getAccountChanges(cursor, limit, waitSeconds);
+    }
+}
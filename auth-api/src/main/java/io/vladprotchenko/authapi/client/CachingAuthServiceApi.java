@@ -0,0 +1,186 @@
+package io.vladprotchenko.authapi.client;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.vladprotchenko.authapi.AuthServiceApi;
+import io.vladprotchenko.authapi.dto.response.AccountChangesResponse;
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authapi.event.AccountChangeEvent;
+import io.vladprotchenko.authapi.exception.CustomFeignException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link AuthServiceApi} that serves profile lookups from a bounded local cache.
+ *
+ * <p>Found profiles live for {@code ttl}, unknown accounts for {@code negativeTtl}. Entries read after
+ * {@code refreshAfter} are reloaded in the background while the old value keeps being served, so hot profiles never
+ * expire in the caller's path. Concurrent misses for the same account share one load.
+ *
+ * <p>Profile lookups are admin-only on the auth-service, so the cache only serves callers holding
+ * {@value #ADMIN_AUTHORITY}; everyone else goes to the delegate and gets the server's answer. Entries keep no caller
+ * credentials: background reloads authenticate with a token from {@code serviceTokenSupplier}, which
+ * {@code FeignClientInterceptor} forwards as a bearer token. Without a supplier entries are not refreshed and are
+ * loaded again by the next admin lookup after they expire.
+ *
+ * <p>Entries can be dropped as soon as an account changes by feeding events from {@link AccountChangeEvent#TOPIC} to
+ * {@link #onAccountChange(UUID)}.
+ */
+public class CachingAuthServiceApi implements AuthServiceApi {
+
+    public static final String CACHE_NAME = "auth_service_profiles";
+    public static final String SERVICE_TOKEN_SUPPLIER = "authApiServiceTokenSupplier";
+
+    static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+    static final String RELOAD_PRINCIPAL = "auth-api-profile-cache";
+
+    private final AuthServiceApi delegate;
+    private final Function<UUID, Optional<AccountDto>> profileLoader;
+    private final Supplier<String> serviceTokenSupplier;
+    private final LoadingCache<UUID, CachedProfile> cache;
+
+    record CachedProfile(Optional<AccountDto> profile) {
+    }
+
+    public CachingAuthServiceApi(
+            AuthServiceApi delegate,
+            Function<UUID, Optional<AccountDto>> profileLoader,
+            Supplier<String> serviceTokenSupplier,
+            long maximumSize,
+            Duration ttl,
+            Duration negativeTtl,
+            Duration refreshAfter,
+            MeterRegistry meterRegistry,
+            String clientName) {
+        this.delegate = delegate;
+        this.profileLoader = profileLoader;
+        this.serviceTokenSupplier = serviceTokenSupplier;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new ProfileExpiry(ttl, negativeTtl))
+            .recordStats();
+        if (serviceTokenSupplier != null) {
+            builder.refreshAfterWrite(refreshAfter);
+        }
+        this.cache = builder.build(new ProfileLoader());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME, Tags.of("client", clientName));
+    }
+
+    @Override
+    public ResponseEntity<?> getUserProfileById(UUID accountId) {
+        if (!callerIsAdmin()) {
+            return delegate.getUserProfileById(accountId);
+        }
+        return ResponseEntity.ok(cache.get(accountId).profile().orElseThrow(() -> new CustomFeignException(
+            String.format("Account with ID: %s not found", accountId), HttpStatus.NOT_FOUND.value())));
+    }
+
+    @Override
+    public List<AccountDto> getUserProfilesByIds(Collection<UUID> accountIds) {
+        if (!callerIsAdmin()) {
+            return delegate.getUserProfilesByIds(accountIds);
+        }
+        Map<UUID, CachedProfile> profiles = cache.getAll(accountIds);
+        return accountIds.stream()
+            .distinct()
+            .map(profiles::get)
+            .filter(Objects::nonNull)
+            .flatMap(cached -> cached.profile().stream())
+            .toList();
+    }
+
+    @Override
+    public ResponseEntity<?> getUserProfileByAuthentication() {
+        return delegate.getUserProfileByAuthentication();
+    }
+
+    @Override
+    public AccountChangesResponse getAccountChanges(String cursor, int limit, int waitSeconds) {
+        return delegate.getAccountChanges(cursor, limit, waitSeconds);
+    }
+
+    public void onAccountChange(UUID accountId) {
+        cache.invalidate(accountId);
+    }
+
+    private static boolean callerIsAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .anyMatch(ADMIN_AUTHORITY::equals);
+    }
+
+    private final class ProfileLoader implements CacheLoader<UUID, CachedProfile> {
+
+        @Override
+        public CachedProfile load(UUID accountId) {
+            return new CachedProfile(profileLoader.apply(accountId));
+        }
+
+        @Override
+        public Map<UUID, CachedProfile> loadAll(Set<? extends UUID> accountIds) {
+            Map<UUID, CachedProfile> loaded = new HashMap<>();
+            for (AccountDto profile : delegate.getUserProfilesByIds(List.copyOf(accountIds))) {
+                loaded.put(UUID.fromString(profile.getAccountId()), new CachedProfile(Optional.of(profile)));
+            }
+            for (UUID accountId : accountIds) {
+                loaded.putIfAbsent(accountId, new CachedProfile(Optional.empty()));
+            }
+            return loaded;
+        }
+
+        @Override
+        public CachedProfile reload(UUID accountId, CachedProfile oldValue) {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                RELOAD_PRINCIPAL, serviceTokenSupplier.get(), List.of()));
+            SecurityContextHolder.setContext(context);
+            try {
+                return new CachedProfile(profileLoader.apply(accountId));
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+    }
+
+    private record ProfileExpiry(Duration ttl, Duration negativeTtl) implements Expiry<UUID, CachedProfile> {
+
+        @Override
+        public long expireAfterCreate(UUID accountId, CachedProfile value, long currentTime) {
+            return (value.profile().isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID accountId, CachedProfile value, long currentTime, long currentDuration) {
+            return expireAfterCreate(accountId, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID accountId, CachedProfile value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
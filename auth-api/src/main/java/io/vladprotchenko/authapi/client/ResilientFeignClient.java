@@ -0,0 +1,239 @@
+package io.vladprotchenko.authapi.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Feign {@link Client} decorator that makes calls to auth-service fail fast and stay fast under partial outages.
+ *
+ * <ul>
+ *   <li>read timeouts can be set per method, keyed by Feign config key ({@code AuthServiceApi#method(Type,...)});</li>
+ *   <li>a bulkhead caps calls in flight, and a circuit breaker stops calling after too many IO errors or 5xx;</li>
+ *   <li>GETs that have not answered within the method's observed p95 latency are hedged: a second, identical request
+ *       is sent and whichever answers first wins, the other response is closed. The hedge takes its own bulkhead
+ *       permit, held until both requests are done, and is skipped when none is free;</li>
+ *   <li>every call is timed into {@code auth.api.client.requests} with a percentile histogram per method.</li>
+ * </ul>
+ *
+ * <p>A call rejected by the bulkhead or an open circuit throws right away without touching the network.
+ */
+@Slf4j
+public class ResilientFeignClient implements Client {
+
+    static final String REQUESTS_METRIC = "auth.api.client.requests";
+    static final String HEDGES_METRIC = "auth.api.client.hedges";
+    static final double HEDGE_PERCENTILE = 0.95;
+
+    private final Client delegate;
+    private final Map<String, Duration> methodReadTimeouts;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final boolean hedgingEnabled;
+    private final Set<String> unhedgedMethods;
+    private final Duration minHedgeDelay;
+    private final Duration defaultHedgeDelay;
+    private final ExecutorService hedgeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ResilientFeignClient(
+            Client delegate,
+            Map<String, Duration> methodReadTimeouts,
+            Bulkhead bulkhead,
+            CircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            boolean hedgingEnabled,
+            Set<String> unhedgedMethods,
+            Duration minHedgeDelay,
+            Duration defaultHedgeDelay) {
+        this.delegate = delegate;
+        this.methodReadTimeouts = Map.copyOf(methodReadTimeouts);
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.hedgingEnabled = hedgingEnabled;
+        this.unhedgedMethods = Set.copyOf(unhedgedMethods);
+        this.minHedgeDelay = minHedgeDelay;
+        this.defaultHedgeDelay = defaultHedgeDelay;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String method = configKey(request);
+        Request.Options effective = withMethodTimeout(method, options);
+
+        bulkhead.acquirePermission();
+        try {
+            circuitBreaker.acquirePermission();
+            long start = System.nanoTime();
+            String outcome = "IO_ERROR";
+            try {
+                Response response = isHedged(method, request)
+                    ? executeHedged(method, request, effective)
+                    : delegate.execute(request, effective);
+                outcome = response.status() >= 500 ? "SERVER_ERROR" : "SUCCESS";
+                if (response.status() >= 500) {
+                    circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS,
+                        new IOException("auth-service responded with status " + response.status()));
+                } else {
+                    circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                return response;
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                throw e;
+            } finally {
+                requestTimer(method, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    private Response executeHedged(String method, Request request, Request.Options options) throws IOException {
+        Duration hedgeDelay = hedgeDelay(method);
+        CompletableFuture<Response> primary = send(request, options);
+        try {
+            return primary.get(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!bulkhead.tryAcquirePermission()) {
+                log.debug("Not hedging {}, no bulkhead permit free", method);
+                return await(primary);
+            }
+            log.debug("Hedging {} after {}", method, hedgeDelay);
+            Counter.builder(HEDGES_METRIC).tag("method", method).register(meterRegistry).increment();
+            CompletableFuture<Response> hedge = send(request, options);
+            CompletableFuture.allOf(primary, hedge).whenComplete((ignored, error) -> bulkhead.onComplete());
+            return firstSuccessful(primary, hedge);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            primary.thenAccept(Response::close);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for auth-service", e);
+        }
+    }
+
+    private CompletableFuture<Response> send(Request request, Request.Options options) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return delegate.execute(request, options);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, hedgeExecutor);
+    }
+
+    /**
+     * Returns the first response of the two; fails only if both requests fail. The losing response is closed.
+     */
+    private static Response firstSuccessful(CompletableFuture<Response> first, CompletableFuture<Response> second)
+            throws IOException {
+        CompletableFuture<Response> winner = new CompletableFuture<>();
+        first.whenComplete((response, error) -> complete(winner, response, error, second));
+        second.whenComplete((response, error) -> complete(winner, response, error, first));
+        return await(winner);
+    }
+
+    private static Response await(CompletableFuture<Response> response) throws IOException {
+        try {
+            return response.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            response.thenAccept(Response::close);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for auth-service", e);
+        }
+    }
+
+    private static void complete(
+            CompletableFuture<Response> winner, Response response, Throwable error, CompletableFuture<Response> other) {
+        if (error == null) {
+            if (!winner.complete(response)) {
+                response.close();
+            }
+        } else if (other.isCompletedExceptionally()) {
+            winner.completeExceptionally(error);
+        }
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        while (cause instanceof CompletionException || cause instanceof UncheckedIOException) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException(cause);
+    }
+
+    private Duration hedgeDelay(String method) {
+        Timer timer = meterRegistry.find(REQUESTS_METRIC).tags("method", method, "outcome", "SUCCESS").timer();
+        if (timer == null || timer.count() == 0) {
+            return defaultHedgeDelay;
+        }
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == HEDGE_PERCENTILE) {
+                long p95 = (long) percentile.value(TimeUnit.NANOSECONDS);
+                return p95 > 0 ? Duration.ofNanos(Math.max(p95, minHedgeDelay.toNanos())) : defaultHedgeDelay;
+            }
+        }
+        return defaultHedgeDelay;
+    }
+
+    private boolean isHedged(String method, Request request) {
+        return hedgingEnabled && request.httpMethod() == Request.HttpMethod.GET && !unhedgedMethods.contains(method);
+    }
+
+    private Request.Options withMethodTimeout(String method, Request.Options options) {
+        Duration readTimeout = methodReadTimeouts.get(method);
+        if (readTimeout == null) {
+            return options;
+        }
+        return new Request.Options(
+            options.connectTimeout(), options.connectTimeoutUnit(),
+            readTimeout.toMillis(), TimeUnit.MILLISECONDS,
+            options.isFollowRedirects());
+    }
+
+    private Timer requestTimer(String method, String outcome) {
+        return Timer.builder(REQUESTS_METRIC)
+            .description("Latency of calls to auth-service")
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .publishPercentiles(HEDGE_PERCENTILE)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static String configKey(Request request) {
+        return request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null
+            ? request.requestTemplate().methodMetadata().configKey()
+            : "unknown";
+    }
+}
@@ -0,0 +1,132 @@
+package io.vladprotchenko.authapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vladprotchenko.authapi.AuthServiceApi;
+import io.vladprotchenko.authapi.client.AccountProfileBatcher;
+import io.vladprotchenko.authapi.client.BatchingAuthServiceApi;
+import io.vladprotchenko.authapi.client.CachingAuthServiceApi;
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authapi.security.LocalAccountResolver;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Wraps the {@link AuthServiceApi} Feign client of applications that enable it in client-side optimizations. The
+ * outermost wrapper is the primary {@link AuthServiceApi} bean, so existing injection points pick it up unchanged;
+ * the plain client stays available under {@link AuthServiceApi#FEIGN_CLIENT}.
+ *
+ * <p>Layers, outermost first: the profile cache (opt-in), then request batching (on by default). The cache refreshes
+ * entries in the background only when a {@code Supplier<String>} bean named
+ * {@value CachingAuthServiceApi#SERVICE_TOKEN_SUPPLIER} provides an admin service token. With
+ * {@code auth-api.jwt.secret} set, a {@link LocalAccountResolver} resolves the caller from the token as well.
+ *
+ * <p>With {@code spring.cloud.openfeign.okhttp.enabled=true}, Feign sends requests through a shared OkHttp client
+ * with a pooled, keep-alive connection set sized by {@code auth-api.transport}. OkHttp negotiates HTTP/2 only over
+ * TLS, so plaintext targets such as {@code http://auth-service} stay on HTTP/1.1 unless
+ * {@code auth-api.transport.h2-prior-knowledge} is set. It asks for gzip responses, which it decompresses
+ * transparently.
+ */
+@AutoConfiguration(before = FeignAutoConfiguration.class)
+@ConditionalOnBean(name = AuthServiceApi.FEIGN_CLIENT)
+@EnableConfigurationProperties(AuthApiProperties.class)
+public class AuthApiAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "auth-api.batching", name = "enabled", matchIfMissing = true)
+    public AccountProfileBatcher accountProfileBatcher(
+            @Qualifier(AuthServiceApi.FEIGN_CLIENT) AuthServiceApi feignClient, AuthApiProperties properties) {
+        AuthApiProperties.Batching batching = properties.getBatching();
+        AuthApiProperties.Transport transport = properties.getTransport();
+        // a lookup waits out the window, then one batch call bounded by the Feign timeouts
+        Duration loadTimeout = batching.getWindow()
+            .plus(transport.getConnectTimeout())
+            .plus(transport.getReadTimeout());
+        return new AccountProfileBatcher(
+            feignClient::getUserProfilesByIds, batching.getWindow(), batching.getMaxSize(), loadTimeout);
+    }
+
+    @Bean
+    @Primary
+    public AuthServiceApi authServiceApi(
+            @Qualifier(AuthServiceApi.FEIGN_CLIENT) AuthServiceApi feignClient,
+            ObjectProvider<AccountProfileBatcher> batcherProvider,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Qualifier(CachingAuthServiceApi.SERVICE_TOKEN_SUPPLIER) ObjectProvider<Supplier<String>> serviceToken,
+            AuthApiProperties properties,
+            @Value("${spring.application.name:unknown}") String applicationName) {
+
+        AccountProfileBatcher batcher = batcherProvider.getIfAvailable();
+        AuthServiceApi api = batcher != null ? new BatchingAuthServiceApi(feignClient, batcher) : feignClient;
+        Function<UUID, Optional<AccountDto>> profileLoader = batcher != null
+            ? batcher::loadNow
+            : accountId -> feignClient.getUserProfilesByIds(List.of(accountId)).stream().findFirst();
+
+        AuthApiProperties.Cache cache = properties.getCache();
+        if (cache.isEnabled()) {
+            api = new CachingAuthServiceApi(
+                api,
+                profileLoader,
+                serviceToken.getIfAvailable(),
+                cache.getMaximumSize(),
+                cache.getTtl(),
+                cache.getNegativeTtl(),
+                cache.getRefreshAfter(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                applicationName);
+        }
+        return api;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OkHttpClient okHttpClient(AuthApiProperties properties) {
+        AuthApiProperties.Transport transport = properties.getTransport();
+        return new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(
+                transport.getMaxIdleConnections(), transport.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+            .protocols(transport.isH2PriorKnowledge()
+                ? List.of(Protocol.H2_PRIOR_KNOWLEDGE)
+                : List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+            .connectTimeout(transport.getConnectTimeout())
+            .readTimeout(transport.getReadTimeout())
+            .retryOnConnectionFailure(true)
+            .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auth-api.jwt", name = "secret")
+    public LocalAccountResolver localAccountResolver(
+            AuthServiceApi authServiceApi, ObjectProvider<ObjectMapper> objectMapper, AuthApiProperties properties) {
+        AuthApiProperties.Jwt jwt = properties.getJwt();
+        return new LocalAccountResolver(
+            jwt.getSecret(),
+            jwt.getAccountIdClaim(),
+            jwt.getRoleClaim(),
+            jwt.getFirstNameClaim(),
+            jwt.getVerifiedTokenCacheSize(),
+            authServiceApi,
+            objectMapper.getIfAvailable(ObjectMapper::new));
+    }
+}
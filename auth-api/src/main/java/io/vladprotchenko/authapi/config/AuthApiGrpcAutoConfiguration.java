@@ -0,0 +1,42 @@
+package io.vladprotchenko.authapi.config;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.vladprotchenko.authapi.grpc.AuthServiceGrpcClient;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Registers an {@link AuthServiceGrpcClient} when {@code auth-api.grpc.target} is set. Channels balance calls over
+ * all resolved auth-service addresses round-robin.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "auth-api.grpc", name = "target")
+@EnableConfigurationProperties(AuthApiProperties.class)
+public class AuthApiGrpcAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public AuthServiceGrpcClient authServiceGrpcClient(AuthApiProperties properties) {
+        AuthApiProperties.Grpc grpc = properties.getGrpc();
+        List<ManagedChannel> channels = IntStream.range(0, grpc.getChannelCount())
+            .mapToObj(i -> {
+                ManagedChannelBuilder<?> builder = ManagedChannelBuilder.forTarget(grpc.getTarget())
+                    .defaultLoadBalancingPolicy("round_robin")
+                    .keepAliveTime(grpc.getKeepAliveTime().toMillis(), TimeUnit.MILLISECONDS);
+                if (grpc.isPlaintext()) {
+                    builder.usePlaintext();
+                }
+                return builder.build();
+            })
+            .toList();
+        return new AuthServiceGrpcClient(channels, grpc.getDeadline());
+    }
+}
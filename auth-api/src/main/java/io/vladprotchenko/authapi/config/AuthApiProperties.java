@@ -0,0 +1,164 @@
+package io.vladprotchenko.authapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "auth-api")
+public class AuthApiProperties {
+
+    private Batching batching = new Batching();
+    private Cache cache = new Cache();
+    private Jwt jwt = new Jwt();
+    private Transport transport = new Transport();
+    private Reactive reactive = new Reactive();
+    private Grpc grpc = new Grpc();
+
+    @Getter
+    @Setter
+    public static class Batching {
+
+        /**
+         * Whether single profile lookups are coalesced into batch calls.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a batch collects lookups before it is sent.
+         */
+        private Duration window = Duration.ofMillis(5);
+
+        /**
+         * Batch size that triggers an immediate send; the auth-service accepts up to 500.
+         */
+        private int maxSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * Whether profile lookups are served from a local cache.
+         */
+        private boolean enabled = false;
+
+        private long maximumSize = 10_000;
+
+        /**
+         * How long a found profile is kept.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * How long an unknown account is remembered as missing.
+         */
+        private Duration negativeTtl = Duration.ofSeconds(30);
+
+        /**
+         * Age after which a read entry is reloaded in the background with the service token; should be shorter
+         * than {@code ttl}.
+         */
+        private Duration refreshAfter = Duration.ofMinutes(4);
+    }
+
+    @Getter
+    @Setter
+    public static class Jwt {
+
+        /**
+         * Base64 HMAC secret the auth-service signs access tokens with; local resolution is off while unset.
+         */
+        private String secret;
+
+        private String accountIdClaim = "accountId";
+        private String roleClaim = "role";
+        private String firstNameClaim = "firstName";
+
+        /**
+         * Number of verified tokens remembered so repeated lookups skip signature checks.
+         */
+        private long verifiedTokenCacheSize = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Transport {
+
+        static final String GET_ACCOUNT_CHANGES = "AuthServiceApi#getAccountChanges(String,int,int)";
+
+        private int maxIdleConnections = 50;
+        private Duration keepAlive = Duration.ofMinutes(5);
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        private Duration readTimeout = Duration.ofSeconds(3);
+
+        /**
+         * Whether to speak HTTP/2 to plaintext targets without negotiation (h2c with prior knowledge). HTTP/2 is
+         * otherwise only negotiated over TLS; when on, every target must be plaintext and accept h2c.
+         */
+        private boolean h2PriorKnowledge = false;
+
+        /**
+         * Read timeouts by Feign config key; the change feed long-polls, so it needs more than the default.
+         */
+        private Map<String, Duration> methodReadTimeouts =
+            new HashMap<>(Map.of(GET_ACCOUNT_CHANGES, Duration.ofSeconds(35)));
+
+        /**
+         * Calls allowed in flight at once; further calls fail fast.
+         */
+        private int maxConcurrentCalls = 100;
+
+        /**
+         * Failure rate in percent over the last {@code slidingWindowSize} calls that opens the circuit.
+         */
+        private float failureRateThreshold = 50;
+        private int slidingWindowSize = 50;
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+
+        /**
+         * Whether slow GETs are hedged with a second request after the method's observed p95 latency.
+         */
+        private boolean hedgingEnabled = true;
+        private Duration minHedgeDelay = Duration.ofMillis(20);
+        private Duration defaultHedgeDelay = Duration.ofMillis(100);
+        private Set<String> unhedgedMethods = new HashSet<>(Set.of(GET_ACCOUNT_CHANGES));
+    }
+
+    @Getter
+    @Setter
+    public static class Reactive {
+
+        /**
+         * Base URL of the auth-service API; resolved by the load balancer when the {@code WebClient.Builder} is
+         * {@code @LoadBalanced}.
+         */
+        private String baseUrl = "http://auth-service/api/v1";
+    }
+
+    @Getter
+    @Setter
+    public static class Grpc {
+
+        /**
+         * gRPC target of the auth-service, e.g. {@code dns:///auth-service:9091}; the client is created only when set.
+         */
+        private String target;
+
+        /**
+         * Channels, and so HTTP/2 connections per auth-service instance, that calls are spread over.
+         */
+        private int channelCount = 2;
+        private boolean plaintext = true;
+        private Duration deadline = Duration.ofSeconds(2);
+        private Duration keepAliveTime = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,30 @@
+package io.vladprotchenko.authapi.config;
+
+import io.vladprotchenko.authapi.reactive.ReactiveAuthServiceApi;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Registers a {@link ReactiveAuthServiceApi} in applications that have a {@link WebClient.Builder}, typically WebFlux
+ * services. The builder is cloned, so a {@code @LoadBalanced} builder resolves {@code auth-api.reactive.base-url}
+ * through service discovery.
+ */
+@AutoConfiguration(
+    afterName = "org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration")
+@ConditionalOnClass(WebClient.class)
+@ConditionalOnBean(WebClient.Builder.class)
+@EnableConfigurationProperties(AuthApiProperties.class)
+public class AuthApiReactiveAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveAuthServiceApi reactiveAuthServiceApi(
+            WebClient.Builder webClientBuilder, AuthApiProperties properties) {
+        return new ReactiveAuthServiceApi(webClientBuilder, properties.getReactive().getBaseUrl());
+    }
+}
@@ -1,13 +1,29 @@
 package io.vladprotchenko.authapi.config;
 
+import feign.Capability;
+import feign.Client;
+import feign.Request;
 import feign.RequestInterceptor;
 import feign.codec.ErrorDecoder;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vladprotchenko.authapi.client.ResilientFeignClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class FeignClientConfiguration {
 
+    static final String RESILIENCE_NAME = "auth-service";
+
     @Bean
     public ErrorDecoder errorDecoder() {
         return new CustomFeignErrorDecoder();
@@ -17,4 +33,48 @@ public class FeignClientConfiguration {
     public RequestInterceptor requestInterceptor() {
         return new FeignClientInterceptor();
     }
+
+    @Bean
+    public Request.Options requestOptions(ObjectProvider<AuthApiProperties> properties) {
+        AuthApiProperties.Transport transport = properties.getIfAvailable(AuthApiProperties::new).getTransport();
+        return new Request.Options(
+            transport.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+            transport.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS,
+            true);
+    }
+
+    /**
+     * Wraps whatever {@link Client} Feign ends up with, load-balanced or not, in {@link ResilientFeignClient}.
+     */
+    @Bean
+    public Capability resilienceCapability(
+            ObjectProvider<AuthApiProperties> properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        AuthApiProperties.Transport transport = properties.getIfAvailable(AuthApiProperties::new).getTransport();
+        Bulkhead bulkhead = Bulkhead.of(RESILIENCE_NAME, BulkheadConfig.custom()
+            .maxConcurrentCalls(transport.getMaxConcurrentCalls())
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(RESILIENCE_NAME, CircuitBreakerConfig.custom()
+            .failureRateThreshold(transport.getFailureRateThreshold())
+            .slidingWindowSize(transport.getSlidingWindowSize())
+            .waitDurationInOpenState(transport.getWaitInOpenState())
+            .build());
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+
+        return new Capability() {
+            @Override
+            public Client enrich(Client client) {
+                return new ResilientFeignClient(
+                    client,
+                    transport.getMethodReadTimeouts(),
+                    bulkhead,
+                    circuitBreaker,
+                    registry,
+                    transport.isHedgingEnabled(),
+                    transport.getUnhedgedMethods(),
+                    transport.getMinHedgeDelay(),
+                    transport.getDefaultHedgeDelay());
+            }
+        };
+    }
 }
@@ -0,0 +1,24 @@
+package io.vladprotchenko.authapi.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Latest state of one account in the change feed. {@code account} is {@code null} when the account was deleted.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AccountChangeDto {
+    String accountId;
+    boolean deleted;
+    AccountDto account;
+}
@@ -0,0 +1,25 @@
+package io.vladprotchenko.authapi.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * One page of the account change feed. Pass {@code nextCursor} to the following request; it is returned even when
+ * {@code changes} is empty.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AccountChangesResponse {
+    List<AccountChangeDto> changes;
+    String nextCursor;
+    boolean hasMore;
+}
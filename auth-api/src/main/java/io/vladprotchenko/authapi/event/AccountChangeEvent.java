@@ -0,0 +1,48 @@
+package io.vladprotchenko.authapi.event;
+
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Account state published to {@link #TOPIC} after every committed account mutation.
+ *
+ * <p>The topic is log-compacted and keyed by accountId, so a consumer that reads it from the beginning ends up with
+ * the latest state of every live account. Hard deletes are published as tombstones (a {@code null} value) and never
+ * decode into an event. Profile fields are {@code null} for {@link AccountChangeType#SOFT_DELETED}.
+ */
+public record AccountChangeEvent(
+        AccountChangeType type,
+        UUID accountId,
+        Instant changedAt,
+        String email,
+        String phoneNumber,
+        String firstName,
+        String lastName,
+        String role,
+        Instant blockedUntil
+) {
+
+    public static final String TOPIC = "account-change-events";
+
+    public static AccountChangeEvent softDeleted(UUID accountId, Instant changedAt) {
+        return new AccountChangeEvent(
+            AccountChangeType.SOFT_DELETED, accountId, changedAt, null, null, null, null, null, null);
+    }
+
+    public boolean isDeleted() {
+        return type == AccountChangeType.SOFT_DELETED || type == AccountChangeType.HARD_DELETED;
+    }
+
+    public AccountDto toAccountDto() {
+        return AccountDto.builder()
+            .accountId(accountId.toString())
+            .email(email)
+            .phoneNumber(phoneNumber)
+            .firstName(firstName)
+            .lastName(lastName)
+            .role(role)
+            .build();
+    }
+}
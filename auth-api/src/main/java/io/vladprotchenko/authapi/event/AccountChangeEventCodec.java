@@ -0,0 +1,103 @@
+package io.vladprotchenko.authapi.event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Binary encoding of {@link AccountChangeEvent} values on {@link AccountChangeEvent#TOPIC}.
+ *
+ * <p>Layout: format version, change type code, accountId as two longs, change time in epoch millis, a bit mask of the
+ * optional fields that follow, then every present field in declaration order (strings as modified UTF-8, instants as
+ * epoch millis). A typical profile takes under 100 bytes. Consumers read the topic with a {@code ByteArrayDeserializer}
+ * and pass non-null values to {@link #decode(byte[])}.
+ */
+public final class AccountChangeEventCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    static final int EMAIL = 1;
+    static final int PHONE_NUMBER = 1 << 1;
+    static final int FIRST_NAME = 1 << 2;
+    static final int LAST_NAME = 1 << 3;
+    static final int ROLE = 1 << 4;
+    static final int BLOCKED_UNTIL = 1 << 5;
+
+    private AccountChangeEventCodec() {
+    }
+
+    public static byte[] encode(AccountChangeEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(event.type().getCode());
+            out.writeLong(event.accountId().getMostSignificantBits());
+            out.writeLong(event.accountId().getLeastSignificantBits());
+            out.writeLong(event.changedAt().toEpochMilli());
+
+            int mask = (event.email() != null ? EMAIL : 0)
+                | (event.phoneNumber() != null ? PHONE_NUMBER : 0)
+                | (event.firstName() != null ? FIRST_NAME : 0)
+                | (event.lastName() != null ? LAST_NAME : 0)
+                | (event.role() != null ? ROLE : 0)
+                | (event.blockedUntil() != null ? BLOCKED_UNTIL : 0);
+            out.writeByte(mask);
+
+            writeIfPresent(out, event.email());
+            writeIfPresent(out, event.phoneNumber());
+            writeIfPresent(out, event.firstName());
+            writeIfPresent(out, event.lastName());
+            writeIfPresent(out, event.role());
+            if (event.blockedUntil() != null) {
+                out.writeLong(event.blockedUntil().toEpochMilli());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is not a supported encoding
+     */
+    public static AccountChangeEvent decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported account change event format: " + version);
+            }
+            AccountChangeType type = AccountChangeType.fromCode(in.readByte());
+            UUID accountId = new UUID(in.readLong(), in.readLong());
+            Instant changedAt = Instant.ofEpochMilli(in.readLong());
+            int mask = in.readUnsignedByte();
+
+            return new AccountChangeEvent(
+                type,
+                accountId,
+                changedAt,
+                readIfPresent(in, mask, EMAIL),
+                readIfPresent(in, mask, PHONE_NUMBER),
+                readIfPresent(in, mask, FIRST_NAME),
+                readIfPresent(in, mask, LAST_NAME),
+                readIfPresent(in, mask, ROLE),
+                (mask & BLOCKED_UNTIL) != 0 ? Instant.ofEpochMilli(in.readLong()) : null);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed account change event", e);
+        }
+    }
+
+    private static void writeIfPresent(DataOutputStream out, String value) throws IOException {
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readIfPresent(DataInputStream in, int mask, int field) throws IOException {
+        return (mask & field) != 0 ? in.readUTF() : null;
+    }
+}
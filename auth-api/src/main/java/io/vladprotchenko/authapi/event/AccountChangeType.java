@@ -0,0 +1,31 @@
+package io.vladprotchenko.authapi.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Kind of change carried by an {@link AccountChangeEvent}. The code is the single byte written on the wire and must
+ * never be reused for a different constant.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AccountChangeType {
+    CREATED((byte) 1),
+    UPDATED((byte) 2),
+    EMAIL_CHANGED((byte) 3),
+    BLOCKED((byte) 4),
+    UNBLOCKED((byte) 5),
+    SOFT_DELETED((byte) 6),
+    HARD_DELETED((byte) 7);
+
+    private final byte code;
+
+    public static AccountChangeType fromCode(byte code) {
+        for (AccountChangeType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown account change type code: " + code);
+    }
+}
@@ -0,0 +1,42 @@
+package io.vladprotchenko.authapi.grpc;
+
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authapi.grpc.v1.Account;
+
+/**
+ * Converts between {@link AccountDto} and its protobuf form. Protobuf has no null strings: unset fields read as
+ * empty, so only the phone number, the one optional profile field, keeps its presence.
+ */
+public final class AccountProtos {
+
+    private AccountProtos() {
+    }
+
+    public static Account toProto(AccountDto account) {
+        Account.Builder builder = Account.newBuilder()
+            .setAccountId(nullToEmpty(account.getAccountId()))
+            .setEmail(nullToEmpty(account.getEmail()))
+            .setFirstName(nullToEmpty(account.getFirstName()))
+            .setLastName(nullToEmpty(account.getLastName()))
+            .setRole(nullToEmpty(account.getRole()));
+        if (account.getPhoneNumber() != null) {
+            builder.setPhoneNumber(account.getPhoneNumber());
+        }
+        return builder.build();
+    }
+
+    public static AccountDto toDto(Account account) {
+        return AccountDto.builder()
+            .accountId(account.getAccountId())
+            .email(account.getEmail())
+            .phoneNumber(account.hasPhoneNumber() ? account.getPhoneNumber() : null)
+            .firstName(account.getFirstName())
+            .lastName(account.getLastName())
+            .role(account.getRole())
+            .build();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
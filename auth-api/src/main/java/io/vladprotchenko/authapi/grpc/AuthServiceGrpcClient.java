@@ -0,0 +1,127 @@
+package io.vladprotchenko.authapi.grpc;
+
+import io.grpc.CallCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authapi.exception.CustomFeignException;
+import io.vladprotchenko.authapi.grpc.v1.AuthServiceGrpc;
+import io.vladprotchenko.authapi.grpc.v1.BatchGetAccountsRequest;
+import io.vladprotchenko.authapi.grpc.v1.GetAccountRequest;
+import io.vladprotchenko.authapi.grpc.v1.IntrospectTokenRequest;
+import io.vladprotchenko.authapi.grpc.v1.IntrospectTokenResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Blocking client of the auth-service gRPC endpoint.
+ *
+ * <p>Each channel keeps one HTTP/2 connection per resolved address and multiplexes concurrent calls over it; calls are
+ * spread over the given channels round-robin, so a busy client is not capped by one connection's stream limit.
+ * The bearer token of the current {@link SecurityContextHolder} authentication is sent with each call, as
+ * {@code FeignClientInterceptor} does for REST. Failures surface as {@link CustomFeignException} with the HTTP status
+ * matching the gRPC status, so callers can treat both transports alike.
+ */
+public class AuthServiceGrpcClient implements AutoCloseable {
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+        Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final List<ManagedChannel> channels;
+    private final List<AuthServiceGrpc.AuthServiceBlockingStub> stubs;
+    private final Duration deadline;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public AuthServiceGrpcClient(List<ManagedChannel> channels, Duration deadline) {
+        this.channels = List.copyOf(channels);
+        this.stubs = this.channels.stream().map(AuthServiceGrpc::newBlockingStub).toList();
+        this.deadline = deadline;
+    }
+
+    public AccountDto getAccount(UUID accountId) {
+        return call(() -> AccountProtos.toDto(stub().getAccount(
+            GetAccountRequest.newBuilder().setAccountId(accountId.toString()).build())));
+    }
+
+    /**
+     * @return profiles of the given accounts in request order; unknown or deleted accounts are left out
+     */
+    public List<AccountDto> getAccounts(Collection<UUID> accountIds) {
+        BatchGetAccountsRequest request = BatchGetAccountsRequest.newBuilder()
+            .addAllAccountIds(accountIds.stream().map(UUID::toString).toList())
+            .build();
+        return call(() -> stub().batchGetAccounts(request).getAccountsList().stream()
+            .map(AccountProtos::toDto)
+            .toList());
+    }
+
+    public IntrospectTokenResponse introspectToken(String token) {
+        return call(() -> stub().introspectToken(IntrospectTokenRequest.newBuilder().setToken(token).build()));
+    }
+
+    @Override
+    public void close() {
+        channels.forEach(ManagedChannel::shutdown);
+    }
+
+    private AuthServiceGrpc.AuthServiceBlockingStub stub() {
+        AuthServiceGrpc.AuthServiceBlockingStub stub = stubs.get(Math.floorMod(next.getAndIncrement(), stubs.size()))
+            .withDeadlineAfter(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof String token) {
+            stub = stub.withCallCredentials(new BearerToken(token));
+        }
+        return stub;
+    }
+
+    private static <T> T call(Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (StatusRuntimeException e) {
+            throw new CustomFeignException(
+                e.getStatus().getDescription() != null ? e.getStatus().getDescription() : e.getStatus().toString(),
+                toHttpStatus(e.getStatus().getCode()).value());
+        }
+    }
+
+    private static HttpStatus toHttpStatus(Status.Code code) {
+        return switch (code) {
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case INVALID_ARGUMENT -> HttpStatus.BAD_REQUEST;
+            case UNAUTHENTICATED -> HttpStatus.UNAUTHORIZED;
+            case PERMISSION_DENIED -> HttpStatus.FORBIDDEN;
+            case RESOURCE_EXHAUSTED -> HttpStatus.TOO_MANY_REQUESTS;
+            case UNAVAILABLE -> HttpStatus.SERVICE_UNAVAILABLE;
+            case DEADLINE_EXCEEDED -> HttpStatus.GATEWAY_TIMEOUT;
+            default -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+    }
+
+    private static final class BearerToken extends CallCredentials {
+
+        private final String token;
+
+        BearerToken(String token) {
+            this.token = token;
+        }
+
+        @Override
+        public void applyRequestMetadata(RequestInfo requestInfo, Executor appExecutor, MetadataApplier applier) {
+            Metadata headers = new Metadata();
+            headers.put(AUTHORIZATION, "Bearer " + token);
+            applier.apply(headers);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.vladprotchenko.authapi.reactive;
+
+import io.vladprotchenko.authapi.AuthServiceApi;
+import io.vladprotchenko.authapi.config.CustomFeignErrorDecoder;
+import io.vladprotchenko.authapi.dto.response.AccountChangesResponse;
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authapi.exception.CustomFeignException;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link AuthServiceApi} for WebFlux applications.
+ *
+ * <p>Error responses fail the returned {@link Mono} with a {@link CustomFeignException} carrying the response body
+ * and status, as {@link CustomFeignErrorDecoder} does for the Feign client. The bearer token is taken from the
+ * subscriber's Reactor context: either put there with {@link #withBearerToken(String)}, or, when absent, the
+ * credentials of the authentication in the {@link ReactiveSecurityContextHolder}.
+ */
+public class ReactiveAuthServiceApi {
+
+    /**
+     * Reactor context key holding the bearer token to forward.
+     */
+    public static final String BEARER_TOKEN_KEY = ReactiveAuthServiceApi.class.getName() + ".BEARER_TOKEN";
+
+    private static final ParameterizedTypeReference<List<AccountDto>> ACCOUNT_LIST =
+        new ParameterizedTypeReference<>() {
+        };
+
+    private final WebClient webClient;
+
+    public ReactiveAuthServiceApi(WebClient.Builder webClientBuilder, String baseUrl) {
+        this.webClient = webClientBuilder.clone()
+            .baseUrl(baseUrl)
+            .filter(bearerTokenFilter())
+            .build();
+    }
+
+    /**
+     * @return context modification that makes calls in the subscribed chain forward {@code token}
+     */
+    public static Context withBearerToken(String token) {
+        return Context.of(BEARER_TOKEN_KEY, token);
+    }
+
+    public Mono<AccountDto> getUserProfileById(UUID accountId) {
+        return webClient.get()
+            .uri("/accounting/{accountId}", accountId)
+            .retrieve()
+            .onStatus(HttpStatusCode::isError, ReactiveAuthServiceApi::decodeError)
+            .bodyToMono(AccountDto.class);
+    }
+
+    public Mono<List<AccountDto>> getUserProfilesByIds(Collection<UUID> accountIds) {
+        return webClient.post()
+            .uri("/accounting/profiles")
+            .bodyValue(accountIds)
+            .retrieve()
+            .onStatus(HttpStatusCode::isError, ReactiveAuthServiceApi::decodeError)
+            .bodyToMono(ACCOUNT_LIST);
+    }
+
+    public Mono<AccountDto> getUserProfileByAuthentication() {
+        return webClient.get()
+            .uri("/account")
+            .retrieve()
+            .onStatus(HttpStatusCode::isError, ReactiveAuthServiceApi::decodeError)
+            .bodyToMono(AccountDto.class);
+    }
+
+    public Mono<AccountChangesResponse> getAccountChanges(String cursor, int limit, int waitSeconds) {
+        return webClient.get()
+            .uri(uriBuilder -> uriBuilder.path("/accounting/changes")
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                .queryParam("limit", limit)
+                .queryParam("waitSeconds", waitSeconds)
+                .build())
+            .retrieve()
+            .onStatus(HttpStatusCode::isError, ReactiveAuthServiceApi::decodeError)
+            .bodyToMono(AccountChangesResponse.class);
+    }
+
+    private static Mono<CustomFeignException> decodeError(ClientResponse response) {
+        int statusCode = response.statusCode().value();
+        return response.bodyToMono(String.class)
+            .defaultIfEmpty("Unknown error occurred")
+            .onErrorReturn("Failed to extract error message")
+            .map(message -> new CustomFeignException(message, statusCode));
+    }
+
+    private static ExchangeFilterFunction bearerTokenFilter() {
+        return (request, next) -> Mono.deferContextual(context -> context.<String>getOrEmpty(BEARER_TOKEN_KEY)
+                .map(Mono::just)
+                .orElseGet(ReactiveAuthServiceApi::tokenFromSecurityContext))
+            .map(token -> ClientRequest.from(request).header(HttpHeaders.AUTHORIZATION, "Bearer " + token).build())
+            .defaultIfEmpty(request)
+            .flatMap(next::exchange);
+    }
+
+    private static Mono<String> tokenFromSecurityContext() {
+        return ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .map(Authentication::getCredentials)
+            .filter(String.class::isInstance)
+            .cast(String.class);
+    }
+}
@@ -0,0 +1,149 @@
+package io.vladprotchenko.authapi.replica;
+
+import io.vladprotchenko.authapi.AuthServiceApi;
+import io.vladprotchenko.authapi.dto.response.AccountChangeDto;
+import io.vladprotchenko.authapi.dto.response.AccountChangesResponse;
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Local in-memory copy of all account profiles, kept current by long-polling the auth-service change feed.
+ *
+ * <p>Lookups never leave the process. Staleness is bounded by the feed's long-poll round trip while the feed is
+ * reachable; callers that need a hard bound can check {@link #getLastSyncedAt()} and fall back to
+ * {@link AuthServiceApi}. The feed is admin-only, so the replica authenticates with a token from
+ * {@code serviceTokenSupplier} that {@code FeignClientInterceptor} forwards as a bearer token.
+ *
+ * <p>Not registered automatically; declare it as a bean to have it started and stopped with the context.
+ */
+@Slf4j
+public class AccountReplica implements SmartLifecycle {
+
+    static final int PAGE_SIZE = 1_000;
+    static final int WAIT_SECONDS = 25;
+    static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final AuthServiceApi authServiceApi;
+    private final Supplier<String> serviceTokenSupplier;
+    private final Map<UUID, AccountDto> accounts = new ConcurrentHashMap<>();
+
+    private volatile String cursor;
+    private volatile boolean initialized;
+    private volatile Instant lastSyncedAt;
+    private volatile Thread worker;
+
+    public AccountReplica(AuthServiceApi authServiceApi, Supplier<String> serviceTokenSupplier) {
+        this.authServiceApi = authServiceApi;
+        this.serviceTokenSupplier = serviceTokenSupplier;
+    }
+
+    public Optional<AccountDto> findById(UUID accountId) {
+        return Optional.ofNullable(accounts.get(accountId));
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+
+    /**
+     * @return {@code true} once the replica has caught up with the feed at least once
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * @return when the replica last confirmed it is up to date with the feed, or {@code null} if never
+     */
+    public Instant getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (worker == null) {
+            worker = Thread.ofVirtual().name("account-replica").start(this::run);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    private void run() {
+        Duration backoff = MIN_BACKOFF;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                boolean hasMore = pollOnce();
+                backoff = MIN_BACKOFF;
+                if (!hasMore) {
+                    initialized = true;
+                    lastSyncedAt = Instant.now();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Account change feed poll failed, retrying in {}. Details: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                Duration doubled = backoff.multipliedBy(2);
+                backoff = doubled.compareTo(MAX_BACKOFF) < 0 ? doubled : MAX_BACKOFF;
+            }
+        }
+        log.debug("Account replica stopped with {} accounts", accounts.size());
+    }
+
+    /**
+     * @return whether the feed reported more changes right away
+     */
+    boolean pollOnce() {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+            "account-replica", serviceTokenSupplier.get(), List.of()));
+        SecurityContextHolder.setContext(context);
+        try {
+            AccountChangesResponse response = authServiceApi.getAccountChanges(
+                cursor, PAGE_SIZE, initialized ? WAIT_SECONDS : 0);
+            apply(response.getChanges());
+            cursor = response.getNextCursor();
+            return response.isHasMore();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void apply(List<AccountChangeDto> changes) {
+        for (AccountChangeDto change : changes) {
+            UUID accountId = UUID.fromString(change.getAccountId());
+            if (change.isDeleted() || change.getAccount() == null) {
+                accounts.remove(accountId);
+            } else {
+                accounts.put(accountId, change.getAccount());
+            }
+        }
+    }
+}
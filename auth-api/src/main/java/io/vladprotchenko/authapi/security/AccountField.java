@@ -0,0 +1,34 @@
+package io.vladprotchenko.authapi.security;
+
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * {@link AccountDto} fields a caller can require from {@link LocalAccountResolver}.
+ */
+public enum AccountField {
+    ACCOUNT_ID(AccountDto::getAccountId),
+    EMAIL(AccountDto::getEmail),
+    FIRST_NAME(AccountDto::getFirstName),
+    LAST_NAME(AccountDto::getLastName),
+    PHONE_NUMBER(AccountDto::getPhoneNumber),
+    ROLE(AccountDto::getRole);
+
+    /**
+     * Fields carried by access tokens.
+     */
+    public static final Set<AccountField> TOKEN_FIELDS = EnumSet.of(ACCOUNT_ID, EMAIL, FIRST_NAME, ROLE);
+
+    private final Function<AccountDto, String> getter;
+
+    AccountField(Function<AccountDto, String> getter) {
+        this.getter = getter;
+    }
+
+    public boolean isPresentIn(AccountDto account) {
+        return getter.apply(account) != null;
+    }
+}
@@ -0,0 +1,76 @@
+package io.vladprotchenko.authapi.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Claim layout of the compact access-token profile.
+ *
+ * <p>Compared to the standard profile, claim names are two letters, the accountId is its 16 bytes in Base64URL
+ * instead of the 36-character UUID text, the role is a one-letter code, and the super-admin flag is present only
+ * when set. The subject stays the email. A token belongs to the compact profile if it has {@link #ACCOUNT_ID}.
+ */
+public final class CompactTokenClaims {
+
+    public static final String ACCOUNT_ID = "ai";
+    public static final String FIRST_NAME = "fn";
+    public static final String ROLE = "rl";
+    public static final String SUPER_ADMIN = "sa";
+
+    private static final Map<String, String> ROLE_CODES = Map.of("USER", "u", "ADMIN", "a");
+    private static final Map<String, String> ROLES_BY_CODE = Map.of("u", "USER", "a", "ADMIN");
+
+    private CompactTokenClaims() {
+    }
+
+    public static boolean isCompact(Claims claims) {
+        return claims.containsKey(ACCOUNT_ID);
+    }
+
+    public static Map<String, Object> of(UUID accountId, String firstName, String role, boolean superAdmin) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(ACCOUNT_ID, encodeAccountId(accountId));
+        claims.put(FIRST_NAME, firstName);
+        claims.put(ROLE, ROLE_CODES.getOrDefault(role, role));
+        if (superAdmin) {
+            claims.put(SUPER_ADMIN, 1);
+        }
+        return claims;
+    }
+
+    public static String accountId(Claims claims) {
+        Object value = claims.get(ACCOUNT_ID);
+        return value != null ? decodeAccountId(value.toString()).toString() : null;
+    }
+
+    public static String firstName(Claims claims) {
+        Object value = claims.get(FIRST_NAME);
+        return value != null ? value.toString() : null;
+    }
+
+    public static String role(Claims claims) {
+        Object value = claims.get(ROLE);
+        return value != null ? ROLES_BY_CODE.getOrDefault(value.toString(), value.toString()) : null;
+    }
+
+    public static boolean superAdmin(Claims claims) {
+        return claims.containsKey(SUPER_ADMIN);
+    }
+
+    static String encodeAccountId(UUID accountId) {
+        ByteBuffer bytes = ByteBuffer.allocate(16)
+            .putLong(accountId.getMostSignificantBits())
+            .putLong(accountId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    static UUID decodeAccountId(String encoded) {
+        ByteBuffer bytes = ByteBuffer.wrap(Base64.getUrlDecoder().decode(encoded));
+        return new UUID(bytes.getLong(), bytes.getLong());
+    }
+}
@@ -0,0 +1,154 @@
+package io.vladprotchenko.authapi.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.vladprotchenko.authapi.AuthServiceApi;
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Answers "who is the caller?" from the bearer token instead of calling the auth-service.
+ *
+ * <p>The token is the one {@code FeignClientInterceptor} would forward. Its HMAC signature and expiry are verified
+ * with a key derived once from the shared secret, and verified tokens are remembered until they expire, so repeated
+ * lookups within and across requests cost a map read. Only fields missing from the token trigger
+ * {@link AuthServiceApi#getUserProfileByAuthentication()}. Tokens of both the standard and the compact
+ * ({@link CompactTokenClaims}) profile are understood.
+ */
+@Slf4j
+public class LocalAccountResolver {
+
+    private final JwtParser jwtParser;
+    private final AuthServiceApi authServiceApi;
+    private final ObjectMapper objectMapper;
+    private final String accountIdClaim;
+    private final String roleClaim;
+    private final String firstNameClaim;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    record VerifiedToken(AccountDto account, Instant expiresAt) {
+    }
+
+    public LocalAccountResolver(
+            String jwtSecret,
+            String accountIdClaim,
+            String roleClaim,
+            String firstNameClaim,
+            long verifiedTokenCacheSize,
+            AuthServiceApi authServiceApi,
+            ObjectMapper objectMapper) {
+        this.jwtParser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret))).build();
+        this.accountIdClaim = accountIdClaim;
+        this.roleClaim = roleClaim;
+        this.firstNameClaim = firstNameClaim;
+        this.authServiceApi = authServiceApi;
+        this.objectMapper = objectMapper;
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedTokenCacheSize)
+            .expireAfter(new TokenExpiry())
+            .build();
+    }
+
+    /**
+     * Resolves the current caller, calling the auth-service only if the token lacks one of {@code requiredFields}.
+     *
+     * <p>Without arguments only {@link AccountField#TOKEN_FIELDS} are required, so a valid token is enough. Callers
+     * that need fields tokens do not carry, such as {@link AccountField#PHONE_NUMBER}, pass them explicitly.
+     *
+     * @throws IllegalStateException if there is no authenticated caller
+     */
+    public AccountDto getCurrentAccount(AccountField... requiredFields) {
+        Set<AccountField> required = requiredFields.length == 0
+            ? AccountField.TOKEN_FIELDS
+            : EnumSet.copyOf(Arrays.asList(requiredFields));
+
+        Optional<AccountDto> fromToken = currentToken().flatMap(this::resolveFromToken);
+        if (fromToken.isPresent() && required.stream().allMatch(field -> field.isPresentIn(fromToken.get()))) {
+            return fromToken.get();
+        }
+
+        log.debug("Token lacks some of the fields: {}, getting profile from auth-service", required);
+        Object body = authServiceApi.getUserProfileByAuthentication().getBody();
+        if (body == null) {
+            throw new IllegalStateException("No authenticated account");
+        }
+        return body instanceof AccountDto account ? account : objectMapper.convertValue(body, AccountDto.class);
+    }
+
+    /**
+     * @return account built from the token claims, or empty if the token is invalid or expired
+     */
+    public Optional<AccountDto> resolveFromToken(String token) {
+        VerifiedToken verified = verifiedTokens.getIfPresent(token);
+        if (verified == null) {
+            try {
+                verified = verify(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Token can't be resolved locally. Details: {}", e.getMessage());
+                return Optional.empty();
+            }
+            verifiedTokens.put(token, verified);
+        }
+        return verified.expiresAt().isAfter(Instant.now()) ? Optional.of(verified.account()) : Optional.empty();
+    }
+
+    private VerifiedToken verify(String token) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        boolean compact = CompactTokenClaims.isCompact(claims);
+        AccountDto account = AccountDto.builder()
+            .accountId(compact ? CompactTokenClaims.accountId(claims) : claimAsString(claims, accountIdClaim))
+            .email(claims.getSubject())
+            .firstName(compact ? CompactTokenClaims.firstName(claims) : claimAsString(claims, firstNameClaim))
+            .role(compact ? CompactTokenClaims.role(claims) : claimAsString(claims, roleClaim))
+            .build();
+        return new VerifiedToken(account, claims.getExpiration().toInstant());
+    }
+
+    private static String claimAsString(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    private static Optional<String> currentToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof String token) {
+            return Optional.of(token);
+        }
+        return Optional.empty();
+    }
+
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.vladprotchenko.authapi.client;
+
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authapi.exception.CustomFeignException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountProfileBatcherTest {
+
+    static final Duration LONG_WINDOW = Duration.ofMinutes(1);
+
+    @Test
+    void closeSendsOpenBatches() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        AccountProfileBatcher batcher = new AccountProfileBatcher(
+            ids -> ids.stream().map(id -> AccountDto.builder().accountId(id.toString()).build()).toList(),
+            LONG_WINDOW, 100, Duration.ofSeconds(5));
+
+        CompletableFuture<Optional<AccountDto>> pending = batcher.load(accountId);
+        batcher.close();
+
+        assertThat(pending.get(5, TimeUnit.SECONDS)).get()
+            .extracting(AccountDto::getAccountId)
+            .isEqualTo(accountId.toString());
+    }
+
+    @Test
+    void rejectsLookupsAfterClose() {
+        AccountProfileBatcher batcher =
+            new AccountProfileBatcher(ids -> List.of(), LONG_WINDOW, 100, Duration.ofSeconds(5));
+        batcher.close();
+
+        assertThatThrownBy(() -> batcher.load(UUID.randomUUID()).get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void loadNowGivesUpAfterLoadTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        AccountProfileBatcher batcher = new AccountProfileBatcher(ids -> {
+            await(release);
+            return List.of();
+        }, Duration.ofMillis(1), 100, Duration.ofMillis(200));
+
+        try {
+            assertThatThrownBy(() -> batcher.loadNow(UUID.randomUUID()))
+                .isInstanceOfSatisfying(CustomFeignException.class,
+                    e -> assertThat(e.getStatusCode()).isEqualTo(504));
+        } finally {
+            release.countDown();
+            batcher.close();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.vladprotchenko.authapi.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class AccountChangeEventCodecTest {
+
+    static final UUID ACCOUNT_ID = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+    static final Instant CHANGED_AT = Instant.parse("2025-03-14T09:26:53.589Z");
+    static final Instant BLOCKED_UNTIL = Instant.parse("2025-04-01T00:00:00.001Z");
+    static final int ALL_FIELDS = AccountChangeEventCodec.EMAIL
+        | AccountChangeEventCodec.PHONE_NUMBER
+        | AccountChangeEventCodec.FIRST_NAME
+        | AccountChangeEventCodec.LAST_NAME
+        | AccountChangeEventCodec.ROLE
+        | AccountChangeEventCodec.BLOCKED_UNTIL;
+
+    @Test
+    void roundTripsEveryCombinationOfPresentFields() {
+        for (int mask = 0; mask <= ALL_FIELDS; mask++) {
+            AccountChangeEvent event = new AccountChangeEvent(
+                AccountChangeType.UPDATED,
+                ACCOUNT_ID,
+                CHANGED_AT,
+                presentIf(mask, AccountChangeEventCodec.EMAIL, "jane.doe@example.com"),
+                presentIf(mask, AccountChangeEventCodec.PHONE_NUMBER, "+380501234567"),
+                presentIf(mask, AccountChangeEventCodec.FIRST_NAME, "Jane"),
+                presentIf(mask, AccountChangeEventCodec.LAST_NAME, "Doe"),
+                presentIf(mask, AccountChangeEventCodec.ROLE, "USER"),
+                (mask & AccountChangeEventCodec.BLOCKED_UNTIL) != 0 ? BLOCKED_UNTIL : null);
+
+            byte[] payload = AccountChangeEventCodec.encode(event);
+
+            assertThat(payload[26]).as("presence mask").isEqualTo((byte) mask);
+            assertThat(AccountChangeEventCodec.decode(payload)).as("mask %s", mask).isEqualTo(event);
+        }
+    }
+
+    @Test
+    void roundTripsEveryChangeType() {
+        for (AccountChangeType type : AccountChangeType.values()) {
+            AccountChangeEvent event = new AccountChangeEvent(
+                type, ACCOUNT_ID, CHANGED_AT, "jane.doe@example.com", null, "Jane", "Doe", "ADMIN", null);
+
+            assertThat(AccountChangeEventCodec.decode(AccountChangeEventCodec.encode(event))).isEqualTo(event);
+        }
+    }
+
+    @Test
+    void keepsNullBlockedUntilNull() {
+        AccountChangeEvent event = new AccountChangeEvent(
+            AccountChangeType.UNBLOCKED, ACCOUNT_ID, CHANGED_AT, "jane.doe@example.com", null, "Jane", "Doe", "USER",
+            null);
+
+        AccountChangeEvent decoded = AccountChangeEventCodec.decode(AccountChangeEventCodec.encode(event));
+
+        assertThat(decoded.blockedUntil()).isNull();
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void roundTripsSoftDeletedEvent() {
+        AccountChangeEvent event = AccountChangeEvent.softDeleted(ACCOUNT_ID, CHANGED_AT);
+
+        assertThat(AccountChangeEventCodec.decode(AccountChangeEventCodec.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    void roundTripsNonAsciiNames() {
+        AccountChangeEvent event = new AccountChangeEvent(
+            AccountChangeType.CREATED,
+            ACCOUNT_ID,
+            CHANGED_AT,
+            "zoë.müller@exämple.com",
+            "+380501234567",
+            "Владислав",
+            "Søren-日本\u0000😀",
+            "USER",
+            BLOCKED_UNTIL);
+
+        assertThat(AccountChangeEventCodec.decode(AccountChangeEventCodec.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    void rejectsUnknownFormatVersion() {
+        byte[] payload = AccountChangeEventCodec.encode(AccountChangeEvent.softDeleted(ACCOUNT_ID, CHANGED_AT));
+        payload[0] = AccountChangeEventCodec.FORMAT_VERSION + 1;
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> AccountChangeEventCodec.decode(payload))
+            .withMessageContaining("Unsupported account change event format");
+    }
+
+    @Test
+    void rejectsUnknownChangeTypeCode() {
+        byte[] payload = AccountChangeEventCodec.encode(AccountChangeEvent.softDeleted(ACCOUNT_ID, CHANGED_AT));
+        payload[1] = 0;
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> AccountChangeEventCodec.decode(payload))
+            .withMessageContaining("Unknown account change type code");
+    }
+
+    @Test
+    void rejectsTruncatedPayload() {
+        byte[] payload = AccountChangeEventCodec.encode(AccountChangeEvent.softDeleted(ACCOUNT_ID, CHANGED_AT));
+        byte[] truncated = new byte[payload.length - 1];
+        System.arraycopy(payload, 0, truncated, 0, truncated.length);
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> AccountChangeEventCodec.decode(truncated))
+            .withMessage("Malformed account change event");
+    }
+
+    private static String presentIf(int mask, int field, String value) {
+        return (mask & field) != 0 ? value : null;
+    }
+}
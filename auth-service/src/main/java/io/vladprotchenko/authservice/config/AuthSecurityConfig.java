@@ -1,11 +1,16 @@
 package io.vladprotchenko.authservice.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vladprotchenko.authservice.security.CachingAuthTokenFilter;
+import io.vladprotchenko.authservice.security.CompactTokenTranslator;
 import io.vladprotchenko.authservice.service.CustomAuthenticationProvider;
 import io.vladprotchenko.ensstartercore.security.filter.AuthEntryPointJwt;
 import io.vladprotchenko.ensstartercore.security.filter.AuthTokenFilter;
 import io.vladprotchenko.ensstartercore.security.filter.CustomAccessDeniedHandler;
 import io.vladprotchenko.ensstartercore.security.service.JwtTokenValidator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,6 +22,15 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -24,14 +38,41 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 public class AuthSecurityConfig {
 
+    /**
+     * Paths open to anonymous callers; requests to them are not authenticated even if they carry a token.
+     */
+    static final String[] PUBLIC_PATHS = {
+        "/api/v1/account/password/reset",
+        "/api/v1/account/password/reset-confirm",
+        "/api/v1/account/password/reset-link-confirm",
+        "/swagger-ui/**",
+        "/v3/api-docs*/**",
+        "/success.html",
+        "/cancel.html"
+    };
+    static final String PUBLIC_AUTH_PATHS = "/api/v1/auth/**";
+    static final String[] PROTECTED_AUTH_PATHS = {"/api/v1/auth/logout", "/api/v1/auth/introspect"};
+
     private final JwtTokenValidator jwtTokenValidator;
     private final AuthEntryPointJwt unauthorizedHandler;
     private final CustomAccessDeniedHandler accessDeniedHandler;
     private final CustomAuthenticationProvider authenticationProvider;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final CompactTokenTranslator compactTokenTranslator;
+
+    @Value("${app.verifiedTokenCache.maximumSize}")
+    private long verifiedTokenCacheSize;
 
     @Bean
-    public AuthTokenFilter authenticationJwtTokenFilter() {
-        return new AuthTokenFilter(jwtTokenValidator);
+    public CachingAuthTokenFilter authenticationJwtTokenFilter() {
+        return new CachingAuthTokenFilter(
+            new AuthTokenFilter(jwtTokenValidator),
+            compactTokenTranslator,
+            skippedByTokenFilter(),
+            objectMapper,
+            meterRegistry,
+            verifiedTokenCacheSize);
     }
 
     @Bean
@@ -41,15 +82,12 @@ public class AuthSecurityConfig {
                 session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(
                 auth ->
-                    auth.requestMatchers(
-                            "/api/v1/account/password/reset",
-                            "/api/v1/account/password/reset-confirm").permitAll()
+                    auth.requestMatchers(PUBLIC_PATHS).permitAll()
                         .requestMatchers("/api/v1/account/**").authenticated()
                         .requestMatchers("/api/v1/auth/logout").authenticated()
-                        .requestMatchers("/api/v1/auth/**").permitAll()
+                        .requestMatchers("/api/v1/auth/introspect").hasRole("ADMIN")
+                        .requestMatchers(PUBLIC_AUTH_PATHS).permitAll()
                         .requestMatchers("/api/v1/accounting/**").hasRole("ADMIN")
-                        .requestMatchers("/swagger-ui/**", "/v3/api-docs*/**").permitAll()
-                        .requestMatchers("/success.html", "/cancel.html").permitAll()
                         .anyRequest().authenticated())
             .exceptionHandling(
                 exception ->
@@ -63,6 +101,17 @@ public class AuthSecurityConfig {
         return http.build();
     }
 
+    private static RequestMatcher skippedByTokenFilter() {
+        RequestMatcher protectedAuthPaths = new OrRequestMatcher(
+            Arrays.stream(PROTECTED_AUTH_PATHS).<RequestMatcher>map(AntPathRequestMatcher::new).toList());
+        RequestMatcher publicAuthPaths = new AndRequestMatcher(
+            new AntPathRequestMatcher(PUBLIC_AUTH_PATHS), new NegatedRequestMatcher(protectedAuthPaths));
+        List<RequestMatcher> skipped = new ArrayList<>();
+        Arrays.stream(PUBLIC_PATHS).map(AntPathRequestMatcher::new).forEach(skipped::add);
+        skipped.add(publicAuthPaths);
+        return new OrRequestMatcher(skipped);
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig)
         throws Exception {
@@ -0,0 +1,28 @@
+package io.vladprotchenko.authservice.config;
+
+import io.vladprotchenko.authapi.event.AccountChangeEvent;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+import java.time.Duration;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    /**
+     * Compacted, so the topic keeps the latest event per accountId. Tombstones are retained for a day, giving
+     * consumers that were down that long a chance to see hard deletes.
+     */
+    @Bean
+    public NewTopic accountChangeEventsTopic(@Value("${app.accountEvents.partitions}") int partitions) {
+        return TopicBuilder.name(AccountChangeEvent.TOPIC)
+            .partitions(partitions)
+            .compact()
+            .config(TopicConfig.DELETE_RETENTION_MS_CONFIG, String.valueOf(Duration.ofDays(1).toMillis()))
+            .build();
+    }
+}
@@ -5,11 +5,26 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class PasswordEncoderConfig {
 
+    public static final String PASSWORD_HASHING_EXECUTOR = "passwordHashingExecutor";
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    /**
+     * CPU-bound pool for hashing passwords in bulk, sized to the number of cores.
+     */
+    @Bean(name = PASSWORD_HASHING_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor() {
+        return Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            Thread.ofPlatform().name("password-hashing-", 0).daemon().factory());
+    }
 }
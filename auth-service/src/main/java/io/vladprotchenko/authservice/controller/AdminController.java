@@ -3,27 +3,47 @@ package io.vladprotchenko.authservice.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.vladprotchenko.authapi.dto.response.AccountChangesResponse;
 import io.vladprotchenko.authapi.dto.response.AccountDto;
 import io.vladprotchenko.authservice.dto.request.BlockUserRequest;
+import io.vladprotchenko.authservice.dto.request.BulkAccountRequest;
+import io.vladprotchenko.authservice.dto.request.BulkBlockRequest;
 import io.vladprotchenko.authservice.dto.request.CreateAdminRequest;
 import io.vladprotchenko.authservice.dto.request.CreateUserRequest;
 import io.vladprotchenko.authservice.dto.request.UnblockUserRequest;
 import io.vladprotchenko.authservice.dto.request.UpdateAccountDto;
 import io.vladprotchenko.authservice.dto.request.UserSearchRequest;
+import io.vladprotchenko.authservice.dto.response.BulkActionResponse;
 import io.vladprotchenko.authservice.dto.response.CreateUserResponse;
+import io.vladprotchenko.authservice.dto.response.PurgeJobResponse;
+import io.vladprotchenko.authservice.dto.response.SearchCountResponse;
 import io.vladprotchenko.authservice.dto.response.UserListViewDto;
+import io.vladprotchenko.authservice.dto.response.UserSearchSliceResponse;
+import io.vladprotchenko.authservice.dto.response.UserTypeaheadDto;
+import io.vladprotchenko.authservice.model.constant.StreamFormat;
+import io.vladprotchenko.authservice.service.AccountChangeFeedService;
+import io.vladprotchenko.authservice.service.AccountExportService;
+import io.vladprotchenko.authservice.service.AccountImportService;
+import io.vladprotchenko.authservice.service.AccountPurgeService;
 import io.vladprotchenko.authservice.service.AdminAccountManagementService;
 import io.vladprotchenko.authservice.service.AdminService;
 import io.vladprotchenko.authservice.service.AuthService;
 import io.vladprotchenko.authservice.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -37,7 +57,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -51,10 +75,17 @@ import java.util.UUID;
 @Tag(name = "Admin functions API")
 public class AdminController {
 
+    static final Duration TYPEAHEAD_MAX_AGE = Duration.ofSeconds(30);
+    public static final int MAX_BATCH_PROFILES = 500;
+
     AuthService authService;
     AdminAccountManagementService adminAccountManagement;
     UserService userService;
     AdminService adminService;
+    AccountExportService accountExportService;
+    AccountImportService accountImportService;
+    AccountPurgeService accountPurgeService;
+    AccountChangeFeedService accountChangeFeedService;
 
     @Operation(summary = "Update user profile", description = "Allows admins to update user information.")
     @PatchMapping("{accountId}")
@@ -74,6 +105,21 @@ public class AdminController {
         return ResponseEntity.ok(fullUser);
     }
 
+    @Operation(
+        summary = "Get users' profiles by IDs",
+        description = "Returns the profiles of up to " + MAX_BATCH_PROFILES + " accounts in request order. "
+            + "Unknown or deleted accounts are left out.")
+    @PostMapping("/profiles")
+    public ResponseEntity<List<AccountDto>> getUserProfilesByIds(
+        @RequestBody
+        @NotEmpty(message = "Account IDs can't be empty")
+        @Size(max = MAX_BATCH_PROFILES, message = "Can't request more than " + MAX_BATCH_PROFILES + " profiles")
+        List<UUID> accountIds
+    ) {
+        log.info("Attempt to get {} account profiles by IDs", accountIds.size());
+        return ResponseEntity.ok(adminAccountManagement.getUserProfilesByIds(accountIds));
+    }
+
     @Operation(
         summary = "Search users",
         description = "Allows admins to search users with filters.")
@@ -88,10 +134,103 @@ public class AdminController {
         int size
     ) {
         log.info("Request to search with parameters through users");
-        Page<UserListViewDto> result = adminAccountManagement.searchAccounts(request, page, size);
+        Slice<UserListViewDto> result = adminAccountManagement.searchAccounts(request, page, size);
         return ResponseEntity.ok(result.getContent());
     }
 
+    @Operation(
+        summary = "Search users with cursor",
+        description = "Keyset paginated search. Pass nextCursor from the previous response to get the following slice.")
+    @PostMapping("/search/keyset")
+    public ResponseEntity<UserSearchSliceResponse> searchUsersByCursor(
+        @RequestBody UserSearchRequest request,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20")
+        @Min(value = 1, message = "Size of the page can't be less than 1")
+        @Max(value = 100, message = "Size of the page can't be more than 100")
+        int size
+    ) {
+        log.info("Request to search through users with cursor");
+        return ResponseEntity.ok(adminAccountManagement.searchAccountsByCursor(request, cursor, size));
+    }
+
+    @Operation(
+        summary = "Count users",
+        description = "Returns the number of users matching search filters. Counts are cached for a short time.")
+    @PostMapping("/search/count")
+    public ResponseEntity<SearchCountResponse> countUsers(@RequestBody UserSearchRequest request) {
+        log.info("Request to count users matching search parameters");
+        return ResponseEntity.ok(adminAccountManagement.countAccounts(request));
+    }
+
+    @Operation(
+        summary = "Typeahead user lookup",
+        description = "Returns the top active users whose email, first or last name starts with the prefix.")
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<UserTypeaheadDto>> typeahead(
+        @RequestParam @NotBlank(message = "Prefix can't be blank")
+        @Size(max = 64, message = "Prefix can't be longer than 64 characters")
+        String prefix,
+        @RequestParam(defaultValue = "10")
+        @Min(value = 1, message = "Limit can't be less than 1")
+        @Max(value = 25, message = "Limit can't be more than 25")
+        int limit,
+        WebRequest webRequest
+    ) {
+        List<UserTypeaheadDto> matches = adminAccountManagement.typeahead(prefix, limit);
+
+        String eTag = Integer.toHexString(matches.hashCode());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(TYPEAHEAD_MAX_AGE).cachePrivate())
+            .varyBy(HttpHeaders.AUTHORIZATION)
+            .eTag(eTag)
+            .body(matches);
+    }
+
+    @Operation(
+        summary = "Account change feed",
+        description = "Returns accounts changed after the cursor in change order, deleted accounts included. "
+            + "With waitSeconds the request is held open until changes arrive or the wait runs out.")
+    @GetMapping("/changes")
+    public DeferredResult<AccountChangesResponse> getChanges(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "500")
+        @Min(value = 1, message = "Limit can't be less than 1")
+        @Max(value = 1000, message = "Limit can't be more than 1000")
+        int limit,
+        @RequestParam(defaultValue = "0")
+        @Min(value = 0, message = "Wait can't be a negative number")
+        @Max(value = 60, message = "Wait can't be more than 60 seconds")
+        int waitSeconds
+    ) {
+        log.debug("Request to read account changes after cursor: {}", cursor);
+        return accountChangeFeedService.awaitChanges(cursor, limit, waitSeconds);
+    }
+
+    @Operation(
+        summary = "Export users",
+        description = "Streams every user matching search filters as NDJSON or CSV.")
+    @PostMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+        @RequestBody UserSearchRequest request,
+        @RequestParam(defaultValue = "NDJSON") StreamFormat format
+    ) {
+        log.info("Request to export users as {}", format);
+        StreamingResponseBody body = out -> accountExportService.export(request, format, out);
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+            .filename("accounts." + format.getFileExtension())
+            .build();
+        return ResponseEntity.ok()
+            .contentType(format.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+            .body(body);
+    }
+
     @Operation(summary = "Creates new admin")
     @PostMapping("/admin")
     public ResponseEntity<CreateUserResponse> createAdmin(@RequestBody @Valid CreateAdminRequest request) {
@@ -108,6 +247,20 @@ public class AdminController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(
+        summary = "Bulk import users",
+        description = "Creates users from an NDJSON or CSV body and streams back one NDJSON result per input row.")
+    @PostMapping(value = "/users/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request) {
+        StreamFormat format = StreamFormat.fromContentType(request.getContentType());
+        log.info("Attempt to bulk import users from {}", format);
+
+        StreamingResponseBody body = out -> accountImportService.importAccounts(request.getInputStream(), format, out);
+        return ResponseEntity.ok()
+            .contentType(StreamFormat.NDJSON.getMediaType())
+            .body(body);
+    }
+
 //    @Operation(summary = "Reset user's password by generating temp password")
 //    @PostMapping("/users/{userId}/reset-password-temp")
 //    public ResponseEntity<TemporaryPasswordResponse> resetPasswordWithTemp(@PathVariable("userId") UUID accountId) {
@@ -159,6 +312,33 @@ public class AdminController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(
+        summary = "Bulk block users",
+        description = "Blocks users selected by IDs or a search filter. Returns a summary with per-account rejections")
+    @PatchMapping("/users/bulk/block")
+    public ResponseEntity<BulkActionResponse> bulkBlockUsers(@RequestBody @Valid BulkBlockRequest request) {
+        log.info("Attempt to bulk block users");
+        return ResponseEntity.ok(adminAccountManagement.bulkBlock(request));
+    }
+
+    @Operation(
+        summary = "Bulk unblock users",
+        description = "Unblocks users selected by IDs or a search filter. Returns a summary with per-account rejections")
+    @PatchMapping("/users/bulk/unblock")
+    public ResponseEntity<BulkActionResponse> bulkUnblockUsers(@RequestBody @Valid BulkAccountRequest request) {
+        log.info("Attempt to bulk unblock users");
+        return ResponseEntity.ok(adminAccountManagement.bulkUnblock(request));
+    }
+
+    @Operation(
+        summary = "Bulk soft delete users",
+        description = "Soft deletes users selected by IDs or a search filter. Returns a summary with per-account rejections")
+    @PostMapping("/users/bulk/soft-delete")
+    public ResponseEntity<BulkActionResponse> bulkSoftDeleteUsers(@RequestBody @Valid BulkAccountRequest request) {
+        log.info("Attempt to bulk soft delete users");
+        return ResponseEntity.ok(adminAccountManagement.bulkSoftDelete(request));
+    }
+
     @Operation(summary = "Delete user entirely")
     @DeleteMapping("/users/{accountId}/hard")
     @PreAuthorize("@roleSecurity.isSuperAdmin(authentication)")
@@ -167,4 +347,21 @@ public class AdminController {
         adminAccountManagement.hardDelete(accountId);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(
+        summary = "Bulk delete users entirely",
+        description = "Starts a background hard delete job for users selected by IDs or a search filter")
+    @PostMapping("/users/bulk/hard-delete")
+    @PreAuthorize("@roleSecurity.isSuperAdmin(authentication)")
+    public ResponseEntity<PurgeJobResponse> bulkHardDeleteUsers(@RequestBody @Valid BulkAccountRequest request) {
+        log.info("Attempt to start bulk hard delete job");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(accountPurgeService.createPurgeJob(request));
+    }
+
+    @Operation(summary = "Get bulk hard delete job progress")
+    @GetMapping("/users/bulk/hard-delete/{jobId}")
+    @PreAuthorize("@roleSecurity.isSuperAdmin(authentication)")
+    public ResponseEntity<PurgeJobResponse> getBulkHardDeleteJob(@PathVariable("jobId") Long jobId) {
+        return ResponseEntity.ok(accountPurgeService.getPurgeJob(jobId));
+    }
 }
@@ -2,13 +2,16 @@ package io.vladprotchenko.authservice.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.vladprotchenko.authservice.dto.request.IntrospectTokensRequest;
 import io.vladprotchenko.authservice.dto.request.LoginRequest;
 import io.vladprotchenko.authservice.dto.request.RegistrationRequest;
 import io.vladprotchenko.authservice.dto.request.VerifyLoginOtpRequest;
 import io.vladprotchenko.authservice.dto.response.AuthResponse;
+import io.vladprotchenko.authservice.dto.response.IntrospectTokensResponse;
 import io.vladprotchenko.authservice.dto.response.TokensResponse;
 import io.vladprotchenko.authservice.service.AuthService;
 import io.vladprotchenko.authservice.service.JwtTokenIssuer;
+import io.vladprotchenko.authservice.service.TokenIntrospectionService;
 import io.vladprotchenko.authservice.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +34,7 @@ public class AuthController {
     private final AuthService authService;
     private final JwtTokenIssuer jwtTokenIssuer;
     private final UserService userService;
+    private final TokenIntrospectionService tokenIntrospectionService;
 
     @Operation(summary = "User registration", description = "Registers a new user in the system.")
     @PostMapping("/register")
@@ -78,4 +82,15 @@ public class AuthController {
         return ResponseEntity.ok().body(tokens);
     }
 
+    @Operation(
+            summary = "Introspect tokens",
+            description = "Checks up to " + IntrospectTokensRequest.MAX_TOKENS + " access or refresh tokens at once "
+                + "and returns whether each is active, its claims and expiry. Requires admin rights.")
+    @PostMapping("/introspect")
+    public ResponseEntity<IntrospectTokensResponse> introspect(@RequestBody @Valid IntrospectTokensRequest request) {
+        log.debug("Introspecting {} tokens", request.getTokens().size());
+        return ResponseEntity.ok(
+            new IntrospectTokensResponse(tokenIntrospectionService.introspectAll(request.getTokens())));
+    }
+
 }
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.vladprotchenko.authapi.dto.response.AccountDto;
 import io.vladprotchenko.authservice.dto.request.ChangePasswordRequest;
 import io.vladprotchenko.authservice.dto.request.PasswordResetWithOtpDto;
+import io.vladprotchenko.authservice.dto.request.PasswordResetWithTokenDto;
 import io.vladprotchenko.authservice.dto.request.UpdateAccountDto;
 import io.vladprotchenko.authservice.dto.response.AuthResponse;
 import io.vladprotchenko.authservice.dto.response.ChangeEmailResponse;
@@ -130,4 +131,15 @@ public class UserController {
 
         return ResponseEntity.ok().body(response);
     }
+
+    @Operation(summary = "Reset password with the link sent by email")
+    @PostMapping("/password/reset-link-confirm")
+    public ResponseEntity<SuccessResponse> resetPasswordWithLink(
+        @RequestBody @Valid PasswordResetWithTokenDto request) {
+
+        log.info("Reset password with link attempt");
+        SuccessResponse response = accountService.passwordResetConfirmWithLink(request);
+
+        return ResponseEntity.ok().body(response);
+    }
 }
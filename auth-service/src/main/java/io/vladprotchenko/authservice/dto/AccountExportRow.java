@@ -0,0 +1,18 @@
+package io.vladprotchenko.authservice.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AccountExportRow(
+        UUID accountId,
+        String email,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        String role,
+        Instant blockedUntil,
+        boolean softDeleted,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
@@ -0,0 +1,23 @@
+package io.vladprotchenko.authservice.dto;
+
+import io.vladprotchenko.ensstartercore.security.model.constant.UserRole;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat projection of the account columns the in-memory search index works on.
+ */
+public record AccountSearchDocument(
+        Long id,
+        UUID accountId,
+        String email,
+        String firstName,
+        String lastName,
+        String phoneDigits,
+        UserRole role,
+        Instant blockedUntil,
+        boolean softDeleted,
+        Instant updatedAt
+) {
+}
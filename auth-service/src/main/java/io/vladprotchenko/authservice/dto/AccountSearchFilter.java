@@ -0,0 +1,43 @@
+package io.vladprotchenko.authservice.dto;
+
+import io.vladprotchenko.authservice.dto.request.UserSearchRequest;
+import io.vladprotchenko.authservice.util.SearchPatterns;
+import jakarta.annotation.Nullable;
+
+/**
+ * Admin account search criteria with the search text already turned into {@code LIKE} patterns.
+ *
+ * @param searchPattern {@link SearchPatterns#contains} of the search text, {@code null} to match any text
+ * @param phonePattern  {@link SearchPatterns#phoneDigitsContains} of the search text, {@code null} if it does not
+ *                      look like a phone number
+ */
+public record AccountSearchFilter(
+        @Nullable String searchPattern,
+        @Nullable String phonePattern,
+        boolean admins,
+        boolean users,
+        boolean blocked,
+        boolean deleted
+) {
+
+    public static AccountSearchFilter of(UserSearchRequest request) {
+        return new AccountSearchFilter(
+            SearchPatterns.contains(request.getSearchText()),
+            SearchPatterns.phoneDigitsContains(request.getSearchText()),
+            request.isAdmins(),
+            request.isUsers(),
+            request.isBlocked(),
+            request.isDeleted());
+    }
+
+    public AccountSearchFilter withDeleted(boolean deleted) {
+        return new AccountSearchFilter(searchPattern, phonePattern, admins, users, blocked, deleted);
+    }
+
+    /**
+     * @return whether no role is selected, in which case nothing can match
+     */
+    public boolean matchesNoRole() {
+        return !admins && !users;
+    }
+}
@@ -0,0 +1,20 @@
+package io.vladprotchenko.authservice.dto;
+
+import io.vladprotchenko.ensstartercore.security.model.constant.UserRole;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Account columns published in account change events.
+ */
+public record AccountSnapshot(
+        UUID accountId,
+        String email,
+        String phoneNumber,
+        String firstName,
+        String lastName,
+        UserRole role,
+        Instant blockedUntil
+) {
+}
@@ -0,0 +1,16 @@
+package io.vladprotchenko.authservice.dto;
+
+import java.util.UUID;
+
+/**
+ * Account ready for a bulk insert: validated, deduplicated and with its temporary password already hashed.
+ */
+public record BulkAccountRow(
+        UUID accountId,
+        String email,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        String tempPasswordHash
+) {
+}
@@ -0,0 +1,11 @@
+package io.vladprotchenko.authservice.dto;
+
+import io.vladprotchenko.ensstartercore.security.model.constant.UserRole;
+
+import java.util.UUID;
+
+public record BulkTarget(
+        UUID accountId,
+        UserRole role
+) {
+}
@@ -0,0 +1,13 @@
+package io.vladprotchenko.authservice.dto;
+
+import java.time.Instant;
+
+public record OutboxEvent(
+        Long id,
+        String topic,
+        String key,
+        String eventType,
+        byte[] payload,
+        Instant createdAt
+) {
+}
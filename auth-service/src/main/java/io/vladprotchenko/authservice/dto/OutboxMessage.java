@@ -0,0 +1,11 @@
+package io.vladprotchenko.authservice.dto;
+
+/**
+ * Serialized event waiting to be written to the outbox.
+ */
+public record OutboxMessage(
+        String key,
+        String eventType,
+        byte[] payload
+) {
+}
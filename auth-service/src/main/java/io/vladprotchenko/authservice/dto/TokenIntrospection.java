@@ -0,0 +1,27 @@
+package io.vladprotchenko.authservice.dto;
+
+import java.time.Instant;
+
+/**
+ * What a token says about its bearer, or {@link #INACTIVE} if it cannot be trusted.
+ */
+public record TokenIntrospection(
+        boolean active,
+        TokenType tokenType,
+        String accountId,
+        String email,
+        String role,
+        String firstName,
+        boolean superAdmin,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public static final TokenIntrospection INACTIVE =
+        new TokenIntrospection(false, null, null, null, null, null, false, null, null);
+
+    public enum TokenType {
+        ACCESS,
+        REFRESH
+    }
+}
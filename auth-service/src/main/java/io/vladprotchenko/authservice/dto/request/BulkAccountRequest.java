@@ -0,0 +1,34 @@
+package io.vladprotchenko.authservice.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selects the targets of a bulk admin action either by explicit account IDs or by an admin search filter.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class BulkAccountRequest {
+
+    public static final int MAX_ACCOUNTS = 50_000;
+
+    @Size(min = 1, max = MAX_ACCOUNTS, message = "Between 1 and 50000 account IDs are allowed")
+    List<UUID> accountIds;
+
+    UserSearchRequest filter;
+
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of accountIds or filter is required")
+    public boolean isSelectionValid() {
+        return (accountIds == null) != (filter == null);
+    }
+}
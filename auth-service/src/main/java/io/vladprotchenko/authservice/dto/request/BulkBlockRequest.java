@@ -0,0 +1,25 @@
+package io.vladprotchenko.authservice.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class BulkBlockRequest extends BulkAccountRequest {
+
+    @JsonFormat(
+        shape = JsonFormat.Shape.STRING,
+        pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'",
+        timezone = "UTC")
+    @NotNull(message = "expiresAt is required")
+    @Future(message = "expiresAt must be a future date")
+    Instant expiresAt;
+}
@@ -20,6 +20,7 @@ public record CreateUserRequest(
     @NotBlank(message = "Email is required")
     String email,
 
+    @Size(max = 15, message = "Phone number must not exceed 15 characters")
     String phoneNumber
 
 ) {
@@ -0,0 +1,23 @@
+package io.vladprotchenko.authservice.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+public class IntrospectTokensRequest {
+
+    public static final int MAX_TOKENS = 1_000;
+
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = MAX_TOKENS, message = "Can't introspect more than 1000 tokens at once")
+    List<@NotBlank String> tokens;
+}
@@ -0,0 +1,31 @@
+package io.vladprotchenko.authservice.dto.request;
+
+import io.vladprotchenko.authservice.dto.validation.PasswordMatch;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@PasswordMatch(passwordField = "newPassword")
+public class PasswordResetWithTokenDto {
+    @NotBlank(message = "Reset token is required")
+    @Size(max = 256, message = "Reset token is too long")
+    String token;
+
+    @NotBlank
+    @Size(min = 8, message = "Password must be at least 8 characters long.")
+    @Pattern(
+        regexp = "^(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&#])[A-Za-z\\d@$!%*?&#]+$",
+        message =
+            "Password must contain at least 1 uppercase letter, 1 number, and 1 special character.")
+    String newPassword;
+
+    @NotBlank
+    String passwordConfirmation;
+}
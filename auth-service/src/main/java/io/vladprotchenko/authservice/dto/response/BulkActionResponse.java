@@ -0,0 +1,18 @@
+package io.vladprotchenko.authservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkActionResponse {
+    private int requested;
+    private int updated;
+    private List<BulkRejection> rejections;
+}
@@ -0,0 +1,9 @@
+package io.vladprotchenko.authservice.dto.response;
+
+import java.util.UUID;
+
+public record BulkRejection(
+        UUID accountId,
+        String reason
+) {
+}
@@ -0,0 +1,24 @@
+package io.vladprotchenko.authservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.vladprotchenko.authservice.model.constant.ImportRowStatus;
+
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportRowResult(
+        long line,
+        String email,
+        ImportRowStatus status,
+        UUID accountId,
+        String tempPassword,
+        String message
+) {
+    public static ImportRowResult created(long line, String email, UUID accountId, String tempPassword) {
+        return new ImportRowResult(line, email, ImportRowStatus.CREATED, accountId, tempPassword, null);
+    }
+
+    public static ImportRowResult rejected(long line, String email, ImportRowStatus status, String message) {
+        return new ImportRowResult(line, email, status, null, null, message);
+    }
+}
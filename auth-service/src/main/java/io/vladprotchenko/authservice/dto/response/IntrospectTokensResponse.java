@@ -0,0 +1,20 @@
+package io.vladprotchenko.authservice.dto.response;
+
+import io.vladprotchenko.authservice.dto.TokenIntrospection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectTokensResponse {
+    /**
+     * One result per requested token, in request order.
+     */
+    private List<TokenIntrospection> results;
+}
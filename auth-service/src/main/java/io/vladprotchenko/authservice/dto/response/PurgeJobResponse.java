@@ -0,0 +1,24 @@
+package io.vladprotchenko.authservice.dto.response;
+
+import io.vladprotchenko.authservice.model.constant.PurgeJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurgeJobResponse {
+    private Long jobId;
+    private PurgeJobStatus status;
+    private int total;
+    private long deleted;
+    private long eventsSent;
+    private Instant createdAt;
+    private List<BulkRejection> rejections;
+}
@@ -0,0 +1,17 @@
+package io.vladprotchenko.authservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchCountResponse {
+    private long count;
+    private Instant countedAt;
+}
@@ -0,0 +1,20 @@
+package io.vladprotchenko.authservice.dto.response;
+
+import io.vladprotchenko.ensstartercore.security.model.constant.UserRole;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserListViewKeysetDto(
+        UUID accountId,
+        String email,
+        String firstName,
+        String lastName,
+        UserRole role,
+        Instant createdAt,
+        Long id
+) {
+    public UserListViewDto toView() {
+        return new UserListViewDto(accountId, email, firstName, lastName, role);
+    }
+}
@@ -0,0 +1,20 @@
+package io.vladprotchenko.authservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserSearchSliceResponse {
+    private List<UserListViewDto> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,11 @@
+package io.vladprotchenko.authservice.dto.response;
+
+import java.util.UUID;
+
+public record UserTypeaheadDto(
+        UUID accountId,
+        String email,
+        String firstName,
+        String lastName
+) {
+}
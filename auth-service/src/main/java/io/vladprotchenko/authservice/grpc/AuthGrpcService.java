@@ -0,0 +1,116 @@
+package io.vladprotchenko.authservice.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authapi.grpc.AccountProtos;
+import io.vladprotchenko.authapi.grpc.v1.Account;
+import io.vladprotchenko.authapi.grpc.v1.AuthServiceGrpc;
+import io.vladprotchenko.authapi.grpc.v1.BatchGetAccountsRequest;
+import io.vladprotchenko.authapi.grpc.v1.BatchGetAccountsResponse;
+import io.vladprotchenko.authapi.grpc.v1.GetAccountRequest;
+import io.vladprotchenko.authapi.grpc.v1.IntrospectTokenRequest;
+import io.vladprotchenko.authapi.grpc.v1.IntrospectTokenResponse;
+import io.vladprotchenko.authservice.controller.AdminController;
+import io.vladprotchenko.authservice.dto.TokenIntrospection;
+import io.vladprotchenko.authservice.service.AdminAccountManagementService;
+import io.vladprotchenko.authservice.service.TokenIntrospectionService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * gRPC counterpart of the internal profile lookups, backed by the same service layer as the REST endpoints.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AuthGrpcService extends AuthServiceGrpc.AuthServiceImplBase {
+
+    AdminAccountManagementService adminAccountManagementService;
+    TokenIntrospectionService tokenIntrospectionService;
+
+    @Override
+    public void getAccount(GetAccountRequest request, StreamObserver<Account> responseObserver) {
+        UUID accountId = parseAccountId(request.getAccountId(), responseObserver);
+        if (accountId == null) {
+            return;
+        }
+        List<AccountDto> profiles = adminAccountManagementService.getUserProfilesByIds(List.of(accountId));
+        if (profiles.isEmpty()) {
+            responseObserver.onError(Status.NOT_FOUND
+                .withDescription(String.format("Account with ID: %s not found", accountId))
+                .asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(AccountProtos.toProto(profiles.getFirst()));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void batchGetAccounts(
+            BatchGetAccountsRequest request, StreamObserver<BatchGetAccountsResponse> responseObserver) {
+        int count = request.getAccountIdsCount();
+        if (count == 0 || count > AdminController.MAX_BATCH_PROFILES) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                .withDescription(String.format(
+                    "Between 1 and %d accountIds expected", AdminController.MAX_BATCH_PROFILES))
+                .asRuntimeException());
+            return;
+        }
+        List<UUID> accountIds = new ArrayList<>(count);
+        for (String accountId : request.getAccountIdsList()) {
+            UUID parsed = parseAccountId(accountId, responseObserver);
+            if (parsed == null) {
+                return;
+            }
+            accountIds.add(parsed);
+        }
+
+        BatchGetAccountsResponse.Builder response = BatchGetAccountsResponse.newBuilder();
+        adminAccountManagementService.getUserProfilesByIds(accountIds)
+            .forEach(profile -> response.addAccounts(AccountProtos.toProto(profile)));
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void introspectToken(
+            IntrospectTokenRequest request, StreamObserver<IntrospectTokenResponse> responseObserver) {
+        TokenIntrospection introspection = tokenIntrospectionService.introspect(request.getToken());
+        IntrospectTokenResponse.Builder response =
+            IntrospectTokenResponse.newBuilder().setActive(introspection.active());
+        if (introspection.active()) {
+            response.setAccountId(nullToEmpty(introspection.accountId()))
+                .setEmail(nullToEmpty(introspection.email()))
+                .setRole(nullToEmpty(introspection.role()))
+                .setFirstName(nullToEmpty(introspection.firstName()))
+                .setSuperAdmin(introspection.superAdmin())
+                .setExpiresAtEpochSecond(introspection.expiresAt().getEpochSecond());
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    private static UUID parseAccountId(String accountId, StreamObserver<?> responseObserver) {
+        try {
+            return UUID.fromString(accountId);
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                .withDescription(String.format("Invalid accountId: %s", accountId))
+                .asRuntimeException());
+            return null;
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
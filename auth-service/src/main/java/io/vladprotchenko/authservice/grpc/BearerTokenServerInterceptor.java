@@ -0,0 +1,59 @@
+package io.vladprotchenko.authservice.grpc;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.vladprotchenko.authservice.dto.TokenIntrospection;
+import io.vladprotchenko.authservice.service.TokenIntrospectionService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admits gRPC calls that carry a valid access token with the ADMIN role, the same rule that guards
+ * {@code /api/v1/accounting/**}. Refresh tokens are rejected even though introspection reports them as active. The
+ * caller's token is exposed to the call through {@link #CALLER}.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BearerTokenServerInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> AUTHORIZATION =
+        Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    static final Context.Key<TokenIntrospection> CALLER = Context.key("caller");
+    static final String BEARER_PREFIX = "Bearer ";
+    static final String ADMIN_ROLE = "ADMIN";
+
+    TokenIntrospectionService tokenIntrospectionService;
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(
+            ServerCall<Q, R> call, Metadata headers, ServerCallHandler<Q, R> next) {
+        String authorization = headers.get(AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            call.close(Status.UNAUTHENTICATED.withDescription("Bearer token is missing"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        TokenIntrospection caller =
+            tokenIntrospectionService.introspect(authorization.substring(BEARER_PREFIX.length()));
+        if (!caller.active() || caller.tokenType() != TokenIntrospection.TokenType.ACCESS) {
+            call.close(Status.UNAUTHENTICATED.withDescription("Bearer token is invalid or expired"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        if (!ADMIN_ROLE.equals(caller.role())) {
+            call.close(Status.PERMISSION_DENIED.withDescription("Admin rights required"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return Contexts.interceptCall(Context.current().withValue(CALLER, caller), call, headers, next);
+    }
+}
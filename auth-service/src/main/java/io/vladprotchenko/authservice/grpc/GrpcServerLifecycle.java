@@ -0,0 +1,71 @@
+package io.vladprotchenko.authservice.grpc;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the internal gRPC endpoint on {@code app.grpc.port} next to the HTTP server. Calls are handled on virtual
+ * threads, since the service layer blocks on the database.
+ */
+@Slf4j
+@Component
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final Server server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running;
+
+    public GrpcServerLifecycle(
+            AuthGrpcService authGrpcService,
+            BearerTokenServerInterceptor bearerTokenServerInterceptor,
+            @Value("${app.grpc.port}") int port) {
+        this.server = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+            .addService(ServerInterceptors.intercept(authGrpcService, bearerTokenServerInterceptor))
+            .executor(executor)
+            .build();
+    }
+
+    @Override
+    public void start() {
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start gRPC server", e);
+        }
+        running = true;
+        log.info("gRPC server started on port: {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(10, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+        running = false;
+        log.info("gRPC server stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
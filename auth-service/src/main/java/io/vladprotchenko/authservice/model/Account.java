@@ -10,6 +10,8 @@ import lombok.experimental.Accessors;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
@@ -21,6 +23,7 @@ import java.util.UUID;
     defaultCondition = "is_soft_deleted = 'false'")
 
 @Filter(name = Account.FILTER_ACTIVE)
+@NaturalIdCache(region = "account_natural_ids")
 @Entity
 @Table(name = "accounts")
 @Getter
@@ -36,6 +39,7 @@ public class Account {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     private UUID accountId = UUID.randomUUID();
 
     private String email;
@@ -54,6 +58,9 @@ public class Account {
     private String lastName;
     private String phoneNumber;
 
+    @Column(insertable = false, updatable = false)
+    private String phoneDigits;
+
     @CreationTimestamp
     @Column(nullable = false)
     private Instant createdAt;
@@ -0,0 +1,7 @@
+package io.vladprotchenko.authservice.model.constant;
+
+public enum ImportRowStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,15 @@
+package io.vladprotchenko.authservice.model.constant;
+
+/**
+ * How a forgotten password is reset.
+ */
+public enum PasswordResetMode {
+    /**
+     * A 6-digit code is stored in Redis and mailed; the user submits it with the new password.
+     */
+    OTP,
+    /**
+     * A signed, expiring link is mailed and nothing is stored; see {@code PasswordResetLinkService}.
+     */
+    LINK
+}
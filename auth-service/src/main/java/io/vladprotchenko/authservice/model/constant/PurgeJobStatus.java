@@ -0,0 +1,6 @@
+package io.vladprotchenko.authservice.model.constant;
+
+public enum PurgeJobStatus {
+    RUNNING,
+    COMPLETED
+}
@@ -0,0 +1,12 @@
+package io.vladprotchenko.authservice.model.constant;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum RedisChannel {
+    ACCOUNT_PROFILE_INVALIDATION("account_profile_invalidation");
+
+    private final String name;
+}
@@ -8,7 +8,8 @@ import lombok.RequiredArgsConstructor;
 public enum RedisKeyPrefix {
     LOGIN_OTP("login_otp:"),
     PASSWORD_RESET("password_reset_otp:"),
-    EMAIL_CHANGE("email_change:");
+    EMAIL_CHANGE("email_change:"),
+    TOKENS_REVOKED_BEFORE("tokens_revoked_before:");
 
     private final String prefix;
 }
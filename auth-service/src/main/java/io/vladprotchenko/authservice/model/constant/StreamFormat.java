@@ -0,0 +1,29 @@
+package io.vladprotchenko.authservice.model.constant;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum StreamFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    public MediaType getMediaType() {
+        return MediaType.parseMediaType(contentType);
+    }
+
+    public static StreamFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return Arrays.stream(values())
+            .filter(format -> format.getMediaType().isCompatibleWith(mediaType))
+            .findFirst()
+            .orElse(NDJSON);
+    }
+}
@@ -0,0 +1,15 @@
+package io.vladprotchenko.authservice.model.constant;
+
+/**
+ * Claim layout of issued access tokens.
+ */
+public enum TokenProfile {
+    /**
+     * Full claim names, understood by every {@code JwtTokenValidator}.
+     */
+    STANDARD,
+    /**
+     * Short claim names and codes, see {@code CompactTokenClaims}; roughly a third smaller on the wire.
+     */
+    COMPACT
+}
@@ -0,0 +1,19 @@
+package io.vladprotchenko.authservice.model.event;
+
+import io.vladprotchenko.authapi.event.AccountChangeType;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Application event published whenever the persisted state of one or more accounts changes.
+ *
+ * <p>Listeners that keep derived state (caches, indexes) react to it after the surrounding transaction commits;
+ * {@code AccountChangeEventProducer} turns it into Kafka change events before the commit.
+ */
+public record AccountChangedEvent(AccountChangeType type, List<UUID> accountIds) {
+
+    public static AccountChangedEvent of(AccountChangeType type, UUID accountId) {
+        return new AccountChangedEvent(type, List.of(accountId));
+    }
+}
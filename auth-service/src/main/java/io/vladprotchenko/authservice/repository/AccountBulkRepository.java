@@ -0,0 +1,260 @@
+package io.vladprotchenko.authservice.repository;
+
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authservice.dto.BulkAccountRow;
+import io.vladprotchenko.authservice.dto.BulkTarget;
+import io.vladprotchenko.ensstartercore.security.model.constant.UserRole;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based JDBC statements for bulk import, bulk admin actions and batch profile lookups.
+ *
+ * <p>Every method sends one statement per call regardless of the number of rows: values travel as PostgreSQL
+ * arrays and are expanded server-side with {@code unnest} or matched with {@code = ANY(?)}, so there are no per-row
+ * round trips and no bind-parameter limits. Statements run in the caller's transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountBulkRepository {
+
+    static final String FIND_EXISTING_EMAILS = "SELECT lower(email) FROM accounts WHERE lower(email) = ANY(?)";
+
+    static final String INSERT_ACCOUNTS = """
+            INSERT INTO accounts (account_id, email, first_name, last_name, phone_number, role_id)
+            SELECT t.account_id, t.email, t.first_name, t.last_name, t.phone_number, ?
+            FROM unnest(?::uuid[], ?::text[], ?::text[], ?::text[], ?::text[])
+                AS t(account_id, email, first_name, last_name, phone_number)
+            ON CONFLICT ((lower(email))) DO NOTHING
+            RETURNING account_id, id
+        """;
+
+    static final String INSERT_USERS = "INSERT INTO users (account_id) SELECT unnest(?::bigint[])";
+
+    static final String INSERT_TEMPORARY_PASSWORDS = """
+            INSERT INTO temporary_passwords (account_id, temporary_password_hash, expiration_date)
+            SELECT t.account_id, t.password_hash, ?
+            FROM unnest(?::bigint[], ?::text[]) AS t(account_id, password_hash)
+        """;
+
+    static final String FIND_ACTIVE_TARGETS = """
+            SELECT a.account_id, r.name
+            FROM accounts a
+            JOIN roles r ON r.id = a.role_id
+            WHERE a.account_id = ANY(?) AND a.is_soft_deleted = false
+        """;
+
+    static final String FIND_PROFILES = """
+            SELECT a.account_id, a.email, a.phone_number, a.first_name, a.last_name, r.name
+            FROM accounts a
+            JOIN roles r ON r.id = a.role_id
+            WHERE a.account_id = ANY(?) AND a.is_soft_deleted = false
+        """;
+
+    static final String BLOCK_ACCOUNTS = """
+            UPDATE accounts SET blocked_until = ?, updated_at = now() AT TIME ZONE 'UTC'
+            WHERE account_id = ANY(?) AND is_soft_deleted = false
+            RETURNING account_id
+        """;
+
+    static final String UNBLOCK_ACCOUNTS = """
+            UPDATE accounts SET blocked_until = NULL, updated_at = now() AT TIME ZONE 'UTC'
+            WHERE account_id = ANY(?) AND is_soft_deleted = false
+            RETURNING account_id
+        """;
+
+    static final String SOFT_DELETE_ACCOUNTS = """
+            UPDATE accounts SET is_soft_deleted = true, updated_at = now() AT TIME ZONE 'UTC'
+            WHERE account_id = ANY(?) AND is_soft_deleted = false
+            RETURNING account_id
+        """;
+
+    static final String HARD_DELETE_ACCOUNTS = "DELETE FROM accounts WHERE account_id = ANY(?)";
+
+    static final String DELETE_REFRESH_TOKENS = """
+            DELETE FROM refresh_tokens rt
+            USING accounts a
+            WHERE rt.account_id = a.id AND a.account_id = ANY(?)
+        """;
+
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns which of the given lower-cased emails already belong to an account, soft-deleted ones included.
+     */
+    public Set<String> findExistingEmails(Collection<String> lowerEmails) {
+        if (lowerEmails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(
+            FIND_EXISTING_EMAILS,
+            ps -> ps.setArray(1, textArray(ps, lowerEmails)),
+            (rs, rowNum) -> rs.getString(1)));
+    }
+
+    /**
+     * Inserts the accounts, silently skipping emails that were registered concurrently.
+     *
+     * @return primary key of every inserted account by accountId
+     */
+    public Map<UUID, Long> insertAccounts(List<BulkAccountRow> rows, long roleId) {
+        Map<UUID, Long> ids = new HashMap<>(rows.size() * 2);
+        if (rows.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(
+            INSERT_ACCOUNTS,
+            ps -> {
+                ps.setLong(1, roleId);
+                ps.setArray(2, uuidArray(ps, rows.stream().map(BulkAccountRow::accountId).toList()));
+                ps.setArray(3, textArray(ps, rows.stream().map(BulkAccountRow::email).toList()));
+                ps.setArray(4, textArray(ps, rows.stream().map(BulkAccountRow::firstName).toList()));
+                ps.setArray(5, textArray(ps, rows.stream().map(BulkAccountRow::lastName).toList()));
+                ps.setArray(6, textArray(ps, rows.stream().map(BulkAccountRow::phoneNumber).toList()));
+            },
+            rs -> {
+                ids.put(rs.getObject(1, UUID.class), rs.getLong(2));
+            });
+        return ids;
+    }
+
+    public void insertUsers(Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(
+            INSERT_USERS,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", accountIds.toArray())));
+    }
+
+    public void insertTemporaryPasswords(List<BulkAccountRow> rows, Map<UUID, Long> accountIds, Instant expiresAt) {
+        List<BulkAccountRow> inserted = rows.stream().filter(row -> accountIds.containsKey(row.accountId())).toList();
+        if (inserted.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(
+            INSERT_TEMPORARY_PASSWORDS,
+            ps -> {
+                ps.setObject(1, LocalDateTime.ofInstant(expiresAt, ZoneOffset.UTC));
+                ps.setArray(2, ps.getConnection().createArrayOf(
+                    "bigint", inserted.stream().map(row -> accountIds.get(row.accountId())).toArray()));
+                ps.setArray(3, textArray(ps, inserted.stream().map(BulkAccountRow::tempPasswordHash).toList()));
+            });
+    }
+
+    /**
+     * Returns the role of every given account that exists and is not soft-deleted.
+     */
+    public List<BulkTarget> findActiveTargets(Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+            FIND_ACTIVE_TARGETS,
+            ps -> ps.setArray(1, uuidArray(ps, accountIds)),
+            (rs, rowNum) -> new BulkTarget(rs.getObject(1, UUID.class), UserRole.valueOf(rs.getString(2))));
+    }
+
+    /**
+     * @return profiles of the active accounts among the given ones, in no particular order
+     */
+    public List<AccountDto> findProfiles(Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+            FIND_PROFILES,
+            ps -> ps.setArray(1, uuidArray(ps, accountIds)),
+            (rs, rowNum) -> AccountDto.builder()
+                .accountId(rs.getString(1))
+                .email(rs.getString(2))
+                .phoneNumber(rs.getString(3))
+                .firstName(rs.getString(4))
+                .lastName(rs.getString(5))
+                .role(rs.getString(6))
+                .build());
+    }
+
+    /**
+     * @return accountIds that were actually updated
+     */
+    public List<UUID> blockAccounts(Collection<UUID> accountIds, Instant blockedUntil) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+            BLOCK_ACCOUNTS,
+            ps -> {
+                ps.setObject(1, LocalDateTime.ofInstant(blockedUntil, ZoneOffset.UTC));
+                ps.setArray(2, uuidArray(ps, accountIds));
+            },
+            (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    /**
+     * @return accountIds that were actually updated
+     */
+    public List<UUID> unblockAccounts(Collection<UUID> accountIds) {
+        return updateReturningIds(UNBLOCK_ACCOUNTS, accountIds);
+    }
+
+    /**
+     * @return accountIds that were actually updated
+     */
+    public List<UUID> softDeleteAccounts(Collection<UUID> accountIds) {
+        return updateReturningIds(SOFT_DELETE_ACCOUNTS, accountIds);
+    }
+
+    /**
+     * Deletes the accounts; dependent rows go with them through {@code ON DELETE CASCADE}.
+     */
+    public int hardDeleteAccounts(Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(HARD_DELETE_ACCOUNTS, ps -> ps.setArray(1, uuidArray(ps, accountIds)));
+    }
+
+    public int deleteRefreshTokens(Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(DELETE_REFRESH_TOKENS, ps -> ps.setArray(1, uuidArray(ps, accountIds)));
+    }
+
+    private List<UUID> updateReturningIds(String sql, Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+            sql,
+            ps -> ps.setArray(1, uuidArray(ps, accountIds)),
+            (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    private static Array uuidArray(PreparedStatement ps, Collection<UUID> values) throws SQLException {
+        return ps.getConnection().createArrayOf("uuid", values.toArray());
+    }
+
+    private static Array textArray(PreparedStatement ps, Collection<String> values) throws SQLException {
+        return ps.getConnection().createArrayOf("text", values.toArray());
+    }
+}
@@ -0,0 +1,87 @@
+package io.vladprotchenko.authservice.repository;
+
+import io.vladprotchenko.authapi.dto.response.AccountChangeDto;
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authservice.util.ChangeCursor;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads the account change feed from the {@code (change_xid, change_seq)} indexes on {@code accounts} and
+ * {@code account_deletions}.
+ *
+ * <p>Only rows written by transactions older than the reader's snapshot {@code xmin} are returned. Those
+ * transactions have all finished and no later transaction can get a smaller xid, so a cursor never skips a change
+ * that commits after it was read. A long-running transaction holds the feed back until it ends.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountChangeRepository {
+
+    static final String FIND_CHANGES = """
+            WITH horizon AS (SELECT pg_snapshot_xmin(pg_current_snapshot()) AS xmin)
+            SELECT change_xid::text, change_seq, account_id, deleted,
+                   email, phone_number, first_name, last_name, role
+            FROM (
+                (SELECT a.change_xid, a.change_seq, a.account_id, a.is_soft_deleted AS deleted,
+                        a.email, a.phone_number, a.first_name, a.last_name, r.name AS role
+                 FROM accounts a
+                 JOIN roles r ON r.id = a.role_id
+                 CROSS JOIN horizon h
+                 WHERE (a.change_xid, a.change_seq) > (?::xid8, ?) AND a.change_xid < h.xmin
+                 ORDER BY a.change_xid, a.change_seq
+                 LIMIT ?)
+                UNION ALL
+                (SELECT d.change_xid, d.change_seq, d.account_id, true,
+                        NULL, NULL, NULL, NULL, NULL
+                 FROM account_deletions d
+                 CROSS JOIN horizon h
+                 WHERE (d.change_xid, d.change_seq) > (?::xid8, ?) AND d.change_xid < h.xmin
+                 ORDER BY d.change_xid, d.change_seq
+                 LIMIT ?)
+            ) changes
+            ORDER BY change_xid, change_seq
+            LIMIT ?
+        """;
+
+    JdbcTemplate jdbcTemplate;
+
+    public record ChangeRow(ChangeCursor cursor, AccountChangeDto change) {
+    }
+
+    public List<ChangeRow> findChanges(ChangeCursor after, int limit) {
+        String xid = Long.toString(after.xid());
+        return jdbcTemplate.query(
+            FIND_CHANGES,
+            ps -> {
+                ps.setString(1, xid);
+                ps.setLong(2, after.seq());
+                ps.setInt(3, limit);
+                ps.setString(4, xid);
+                ps.setLong(5, after.seq());
+                ps.setInt(6, limit);
+                ps.setInt(7, limit);
+            },
+            (rs, rowNum) -> {
+                String accountId = rs.getString(3);
+                boolean deleted = rs.getBoolean(4);
+                AccountDto account = deleted ? null : AccountDto.builder()
+                    .accountId(accountId)
+                    .email(rs.getString(5))
+                    .phoneNumber(rs.getString(6))
+                    .firstName(rs.getString(7))
+                    .lastName(rs.getString(8))
+                    .role(rs.getString(9))
+                    .build();
+                return new ChangeRow(
+                    new ChangeCursor(Long.parseLong(rs.getString(1)), rs.getLong(2)),
+                    new AccountChangeDto(accountId, deleted, account));
+            });
+    }
+}
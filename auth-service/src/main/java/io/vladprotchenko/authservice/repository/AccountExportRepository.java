@@ -0,0 +1,154 @@
+package io.vladprotchenko.authservice.repository;
+
+import io.vladprotchenko.authservice.dto.AccountExportRow;
+import io.vladprotchenko.authservice.dto.AccountSearchFilter;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Reads accounts for export through a forward-only server-side cursor.
+ *
+ * <p>Deliberately bypasses JPA: rows are mapped straight from the {@link ResultSet} and handed to the caller one by
+ * one, so neither entities nor a persistence context are ever built. The PostgreSQL driver only uses a cursor when
+ * auto-commit is off and a fetch size is set, hence the explicit read-only transaction on a dedicated connection.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountExportRepository {
+
+    static final int FETCH_SIZE = 1_000;
+
+    static final String EXPORT_SELECT = """
+            SELECT a.account_id, a.email, a.first_name, a.last_name, a.phone_number, r.name,
+                   a.blocked_until, a.is_soft_deleted, a.created_at, a.updated_at
+            FROM accounts a
+            JOIN roles r ON r.id = a.role_id
+        """;
+
+    static final String PRIMARY_KEY_ORDER = " ORDER BY a.id";
+
+    DataSource dataSource;
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void handle(AccountExportRow row) throws IOException;
+    }
+
+    /**
+     * Streams every account matching the admin search filter to the handler, in primary key order.
+     *
+     * @return number of rows handed to the handler
+     */
+    public long forEach(AccountSearchFilter filter, Instant utcNow, RowHandler handler) throws IOException {
+        if (filter.matchesNoRole()) {
+            return 0;
+        }
+        Where where = where(filter, LocalDateTime.ofInstant(utcNow, ZoneOffset.UTC));
+        String sql = EXPORT_SELECT + where.sql() + PRIMARY_KEY_ORDER;
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try {
+                long rows = stream(connection, sql, where.parameters(), handler);
+                connection.commit();
+                return rows;
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("Account export", sql, e);
+        }
+    }
+
+    private long stream(Connection connection, String sql, List<Object> parameters, RowHandler handler)
+        throws SQLException, IOException {
+
+        try (PreparedStatement statement = connection.prepareStatement(
+            sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+
+            long rows = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    handler.handle(new AccountExportRow(
+                        resultSet.getObject(1, UUID.class),
+                        resultSet.getString(2),
+                        resultSet.getString(3),
+                        resultSet.getString(4),
+                        resultSet.getString(5),
+                        resultSet.getString(6),
+                        toInstant(resultSet.getObject(7, LocalDateTime.class)),
+                        resultSet.getBoolean(8),
+                        toInstant(resultSet.getObject(9, LocalDateTime.class)),
+                        toInstant(resultSet.getObject(10, LocalDateTime.class))));
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Mirrors {@code AccountSearchRepositoryImpl}: only the predicates the filter actually sets reach the query, so
+     * the planner sees the same shape the search endpoints produce and can use the same indexes.
+     */
+    private static Where where(AccountSearchFilter filter, LocalDateTime utcNow) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+
+        conditions.add(filter.deleted() ? "a.is_soft_deleted = true" : "a.is_soft_deleted = false");
+        if (filter.admins() != filter.users()) {
+            conditions.add(filter.admins() ? "r.name = 'ADMIN'" : "r.name = 'USER'");
+        }
+
+        conditions.add(filter.blocked()
+            ? "a.blocked_until > ?"
+            : "(a.blocked_until IS NULL OR a.blocked_until <= ?)");
+        parameters.add(utcNow);
+
+        if (filter.searchPattern() != null) {
+            StringJoiner text = new StringJoiner(" OR ", "(", ")");
+            if (filter.phonePattern() != null) {
+                text.add("a.phone_digits LIKE ? ESCAPE '!'");
+                parameters.add(filter.phonePattern());
+            }
+            text.add("lower(a.first_name) LIKE ? ESCAPE '!'");
+            text.add("lower(a.last_name) LIKE ? ESCAPE '!'");
+            text.add("lower(a.email) LIKE ? ESCAPE '!'");
+            parameters.addAll(List.of(filter.searchPattern(), filter.searchPattern(), filter.searchPattern()));
+            conditions.add(text.toString());
+        }
+        return new Where(" WHERE " + String.join(" AND ", conditions), parameters);
+    }
+
+    private static Instant toInstant(LocalDateTime utcDateTime) {
+        return utcDateTime == null ? null : utcDateTime.toInstant(ZoneOffset.UTC);
+    }
+
+    private record Where(String sql, List<Object> parameters) {
+    }
+}
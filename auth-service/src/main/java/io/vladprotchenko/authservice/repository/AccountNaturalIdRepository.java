@@ -0,0 +1,18 @@
+package io.vladprotchenko.authservice.repository;
+
+import io.vladprotchenko.authservice.model.Account;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AccountNaturalIdRepository {
+
+    /**
+     * Loads an account by its natural id, resolving the id through the second-level natural-id cache.
+     *
+     * <p>Respects {@link Account#FILTER_ACTIVE}: while the filter is enabled soft deleted accounts are not returned.
+     * @param accountId the public identifier of the account.
+     * @return the account, or an empty {@code Optional} if it does not exist or is filtered out.
+     */
+    Optional<Account> findByAccountId(UUID accountId);
+}
@@ -0,0 +1,25 @@
+package io.vladprotchenko.authservice.repository;
+
+import io.vladprotchenko.authservice.model.Account;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class AccountNaturalIdRepositoryImpl implements AccountNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<Account> findByAccountId(UUID accountId) {
+        Session session = entityManager.unwrap(Session.class);
+        boolean activeOnly = session.getEnabledFilter(Account.FILTER_ACTIVE) != null;
+
+        return session.bySimpleNaturalId(Account.class)
+            .loadOptional(accountId)
+            .filter(account -> !activeOnly || !account.isSoftDeleted());
+    }
+}
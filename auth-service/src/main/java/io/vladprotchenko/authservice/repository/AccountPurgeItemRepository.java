@@ -0,0 +1,109 @@
+package io.vladprotchenko.authservice.repository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-account checkpoints of bulk hard-delete jobs.
+ *
+ * <p>An item is completed in one step: the account row is deleted and its deletion event is written to the outbox in
+ * the same transaction, recorded by {@code deleted_at} and {@code event_sent_at}. Chunks are claimed with
+ * {@code FOR UPDATE SKIP LOCKED}, so several nodes can work on the same job without overlapping.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountPurgeItemRepository {
+
+    static final String INSERT_EXISTING_ITEMS = """
+            INSERT INTO account_purge_items (job_id, account_id)
+            SELECT ?, a.account_id FROM accounts a WHERE a.account_id = ANY(?)
+            ON CONFLICT DO NOTHING
+            RETURNING account_id
+        """;
+
+    static final String LOCK_UNDELETED = """
+            SELECT account_id FROM account_purge_items
+            WHERE job_id = ? AND deleted_at IS NULL
+            ORDER BY account_id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        """;
+
+    static final String MARK_DELETED = """
+            UPDATE account_purge_items
+            SET deleted_at = now() AT TIME ZONE 'UTC', event_sent_at = now() AT TIME ZONE 'UTC'
+            WHERE job_id = ? AND account_id = ANY(?)
+        """;
+
+    static final String COUNT_PROGRESS =
+        "SELECT count(deleted_at), count(event_sent_at) FROM account_purge_items WHERE job_id = ?";
+
+    static final String HAS_PENDING =
+        "SELECT EXISTS (SELECT 1 FROM account_purge_items WHERE job_id = ? AND event_sent_at IS NULL)";
+
+    JdbcTemplate jdbcTemplate;
+
+    public record Progress(long deleted, long eventsSent) {
+    }
+
+    /**
+     * Adds every given account that still exists to the job.
+     *
+     * @return accountIds that were added
+     */
+    public List<UUID> insertExistingItems(long jobId, Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+            INSERT_EXISTING_ITEMS,
+            ps -> {
+                ps.setLong(1, jobId);
+                ps.setArray(2, uuidArray(ps, accountIds));
+            },
+            (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    public List<UUID> lockUndeleted(long jobId, int limit) {
+        return jdbcTemplate.query(
+            LOCK_UNDELETED,
+            ps -> {
+                ps.setLong(1, jobId);
+                ps.setInt(2, limit);
+            },
+            (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    public void markDeleted(long jobId, Collection<UUID> accountIds) {
+        jdbcTemplate.update(
+            MARK_DELETED,
+            ps -> {
+                ps.setLong(1, jobId);
+                ps.setArray(2, uuidArray(ps, accountIds));
+            });
+    }
+
+    public Progress countProgress(long jobId) {
+        return jdbcTemplate.queryForObject(
+            COUNT_PROGRESS, (rs, rowNum) -> new Progress(rs.getLong(1), rs.getLong(2)), jobId);
+    }
+
+    public boolean hasPending(long jobId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_PENDING, Boolean.class, jobId));
+    }
+
+    private static Array uuidArray(PreparedStatement ps, Collection<UUID> values) throws SQLException {
+        return ps.getConnection().createArrayOf("uuid", values.toArray());
+    }
+}
@@ -0,0 +1,14 @@
+package io.vladprotchenko.authservice.repository;
+
+import io.vladprotchenko.authservice.model.AccountPurgeJob;
+import io.vladprotchenko.authservice.model.constant.PurgeJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AccountPurgeJobRepository extends JpaRepository<AccountPurgeJob, Long> {
+
+    List<AccountPurgeJob> findByStatusOrderById(PurgeJobStatus status);
+}
@@ -1,56 +1,73 @@
 package io.vladprotchenko.authservice.repository;
 
-import io.vladprotchenko.authservice.dto.response.UserListViewDto;
+import io.vladprotchenko.authservice.dto.AccountSearchDocument;
+import io.vladprotchenko.authservice.dto.AccountSnapshot;
+import io.vladprotchenko.authservice.dto.response.UserTypeaheadDto;
 import io.vladprotchenko.authservice.model.Account;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository
+    extends JpaRepository<Account, Long>, AccountNaturalIdRepository, AccountSearchRepository {
 
-    Optional<Account> findByEmail(String email);
+    @Query("SELECT a FROM Account a WHERE lower(a.email) = lower(:email)")
+    Optional<Account> findByEmail(@Param("email") String email);
 
-    Optional<Account> findByAccountId(UUID accountId);
+    /**
+     * Loads the account bypassing caches and locks its row until the caller's transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId = :accountId")
+    Optional<Account> findByAccountIdForUpdate(@Param("accountId") UUID accountId);
+
+    String SEARCH_DOCUMENT_VIEW = """
+            select new io.vladprotchenko.authservice.dto.AccountSearchDocument(
+            a.id, a.accountId, a.email, a.firstName, a.lastName, a.phoneDigits, a.role.name,
+            a.blockedUntil, a.isSoftDeleted, a.updatedAt)
+            FROM Account a
+        """;
 
     @Query("""
-            select new io.vladprotchenko.authservice.dto.response.UserListViewDto(
-            a.accountId, a.email, a.firstName, a.lastName, a.role.name)
+            select new io.vladprotchenko.authservice.dto.response.UserTypeaheadDto(
+            a.accountId, a.email, a.firstName, a.lastName)
             FROM Account a
-            WHERE
-                (:searchText IS NULL OR
-                    lower(a.phoneNumber) LIKE LOWER(CONCAT('%', :searchText, '%')) OR
-                    LOWER(a.firstName) LIKE LOWER(CONCAT('%', :searchText, '%')) OR
-                    LOWER(a.lastName) LIKE LOWER(CONCAT('%', :searchText, '%')) OR
-                    LOWER(a.email) LIKE LOWER(CONCAT('%', :searchText, '%'))
-                )
-                AND (
-                (:admins IS TRUE AND a.role.name = 'ADMIN') OR
-                (:users IS TRUE AND a.role.name = 'USER')
+            WHERE a.isSoftDeleted = false
+               AND (
+               lower(a.email) LIKE :prefixPattern ESCAPE '!' OR
+               lower(a.firstName) LIKE :prefixPattern ESCAPE '!' OR
+               lower(a.lastName) LIKE :prefixPattern ESCAPE '!'
                )
+            ORDER BY lower(a.email)
+        """)
+    List<UserTypeaheadDto> findTypeaheadMatches(@Param("prefixPattern") String prefixPattern, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SEARCH_DOCUMENT_VIEW)
+    Stream<AccountSearchDocument> streamSearchDocuments();
 
+    @Query(SEARCH_DOCUMENT_VIEW + " WHERE a.accountId IN :accountIds")
+    List<AccountSearchDocument> findSearchDocuments(@Param("accountIds") Collection<UUID> accountIds);
+
+    @Query("""
+            select new io.vladprotchenko.authservice.dto.AccountSnapshot(
+            a.accountId, a.email, a.phoneNumber, a.firstName, a.lastName, a.role.name, a.blockedUntil)
+            FROM Account a
+            WHERE a.accountId IN :accountIds
         """)
-//    TODO: fix
-    Page<UserListViewDto> searchUsers(
-        @Param("searchText") String searchText,
-        @Param("admins") boolean admins,
-        @Param("users") boolean users,
-//        @Param("blocked") boolean blocked,
-//        @Param("deleted") boolean deleted,
-//        @Param("utcNow") Instant utcNow,
-        Pageable pageable
-    );
+    List<AccountSnapshot> findSnapshots(@Param("accountIds") Collection<UUID> accountIds);
 }
-
-//               AND (
-//               (:blocked is true and a.blockedUntil > :utcNow ) or
-//               (:blocked is false and (a.blockedUntil is null or a.blockedUntil <= :utcNow))
-//               )
-//               AND (:deleted = a.isSoftDeleted)
@@ -0,0 +1,41 @@
+package io.vladprotchenko.authservice.repository;
+
+import io.vladprotchenko.authservice.dto.AccountSearchFilter;
+import io.vladprotchenko.authservice.dto.BulkTarget;
+import io.vladprotchenko.authservice.dto.response.UserListViewDto;
+import io.vladprotchenko.authservice.dto.response.UserListViewKeysetDto;
+import jakarta.annotation.Nullable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Admin account search.
+ *
+ * <p>Queries are built per filter and contain only the predicates the filter actually uses. A catch-all such as
+ * {@code (:pattern IS NULL OR col LIKE :pattern)} would let Postgres switch to a generic plan after a few executions.
+ * That plan cannot use the trigram indexes, because it has to cover the {@code NULL} case too.
+ */
+public interface AccountSearchRepository {
+
+    /**
+     * Newest accounts first, in the same order as {@link #searchUsersKeyset}, so offset pages are stable.
+     */
+    Slice<UserListViewDto> searchUsers(AccountSearchFilter filter, Instant utcNow, Pageable pageable);
+
+    /**
+     * Newest accounts first, strictly after the given cursor if one is passed.
+     */
+    Slice<UserListViewKeysetDto> searchUsersKeyset(
+        AccountSearchFilter filter,
+        Instant utcNow,
+        @Nullable Instant cursorCreatedAt,
+        @Nullable Long cursorId,
+        int size);
+
+    long countUsers(AccountSearchFilter filter, Instant utcNow);
+
+    List<BulkTarget> findBulkTargets(AccountSearchFilter filter, Instant utcNow, int limit);
+}
@@ -0,0 +1,144 @@
+package io.vladprotchenko.authservice.repository;
+
+import io.vladprotchenko.authservice.dto.AccountSearchFilter;
+import io.vladprotchenko.authservice.dto.BulkTarget;
+import io.vladprotchenko.authservice.dto.response.UserListViewDto;
+import io.vladprotchenko.authservice.dto.response.UserListViewKeysetDto;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+@RequiredArgsConstructor
+public class AccountSearchRepositoryImpl implements AccountSearchRepository {
+
+    static final String LIST_VIEW = """
+            select new io.vladprotchenko.authservice.dto.response.UserListViewDto(
+            a.accountId, a.email, a.firstName, a.lastName, a.role.name)
+            FROM Account a
+        """;
+
+    static final String KEYSET_VIEW = """
+            select new io.vladprotchenko.authservice.dto.response.UserListViewKeysetDto(
+            a.accountId, a.email, a.firstName, a.lastName, a.role.name, a.createdAt, a.id)
+            FROM Account a
+        """;
+
+    static final String BULK_TARGET_VIEW =
+        "select new io.vladprotchenko.authservice.dto.BulkTarget(a.accountId, a.role.name) FROM Account a";
+
+    static final String COUNT_VIEW = "SELECT count(a) FROM Account a";
+
+    static final String NEWEST_FIRST = " ORDER BY a.createdAt DESC, a.id DESC";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<UserListViewDto> searchUsers(AccountSearchFilter filter, Instant utcNow, Pageable pageable) {
+        if (filter.matchesNoRole()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        List<UserListViewDto> rows = query(LIST_VIEW, where(filter, utcNow), NEWEST_FIRST, UserListViewDto.class)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+        return toSlice(rows, pageable);
+    }
+
+    @Override
+    public Slice<UserListViewKeysetDto> searchUsersKeyset(
+            AccountSearchFilter filter, Instant utcNow, @Nullable Instant cursorCreatedAt, @Nullable Long cursorId,
+            int size) {
+        Pageable pageable = Pageable.ofSize(size);
+        if (filter.matchesNoRole()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+
+        Where where = where(filter, utcNow);
+        if (cursorCreatedAt != null && cursorId != null) {
+            where = where.and("(a.createdAt, a.id) < (:cursorCreatedAt, :cursorId)",
+                Map.of("cursorCreatedAt", cursorCreatedAt, "cursorId", cursorId));
+        }
+        List<UserListViewKeysetDto> rows = query(KEYSET_VIEW, where, NEWEST_FIRST, UserListViewKeysetDto.class)
+            .setMaxResults(size + 1)
+            .getResultList();
+        return toSlice(rows, pageable);
+    }
+
+    @Override
+    public long countUsers(AccountSearchFilter filter, Instant utcNow) {
+        if (filter.matchesNoRole()) {
+            return 0;
+        }
+        return query(COUNT_VIEW, where(filter, utcNow), "", Long.class).getSingleResult();
+    }
+
+    @Override
+    public List<BulkTarget> findBulkTargets(AccountSearchFilter filter, Instant utcNow, int limit) {
+        if (filter.matchesNoRole()) {
+            return List.of();
+        }
+        return query(BULK_TARGET_VIEW, where(filter, utcNow), "", BulkTarget.class)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    private <T> TypedQuery<T> query(String select, Where where, String orderBy, Class<T> type) {
+        TypedQuery<T> query = entityManager.createQuery(select + where.jpql() + orderBy, type);
+        where.parameters().forEach(query::setParameter);
+        return query;
+    }
+
+    private static Where where(AccountSearchFilter filter, Instant utcNow) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        conditions.add(filter.deleted() ? "a.isSoftDeleted = true" : "a.isSoftDeleted = false");
+        if (filter.admins() != filter.users()) {
+            conditions.add(filter.admins() ? "a.role.name = 'ADMIN'" : "a.role.name = 'USER'");
+        }
+
+        conditions.add(filter.blocked()
+            ? "a.blockedUntil > :utcNow"
+            : "(a.blockedUntil IS NULL OR a.blockedUntil <= :utcNow)");
+        parameters.put("utcNow", utcNow);
+
+        if (filter.searchPattern() != null) {
+            StringJoiner text = new StringJoiner(" OR ", "(", ")");
+            if (filter.phonePattern() != null) {
+                text.add("a.phoneDigits LIKE :phonePattern ESCAPE '!'");
+                parameters.put("phonePattern", filter.phonePattern());
+            }
+            text.add("lower(a.firstName) LIKE :searchPattern ESCAPE '!'");
+            text.add("lower(a.lastName) LIKE :searchPattern ESCAPE '!'");
+            text.add("lower(a.email) LIKE :searchPattern ESCAPE '!'");
+            conditions.add(text.toString());
+            parameters.put("searchPattern", filter.searchPattern());
+        }
+        return new Where(" WHERE " + String.join(" AND ", conditions), parameters);
+    }
+
+    private static <T> Slice<T> toSlice(List<T> rows, Pageable pageable) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    private record Where(String jpql, Map<String, Object> parameters) {
+
+        Where and(String condition, Map<String, Object> extraParameters) {
+            Map<String, Object> merged = new HashMap<>(parameters);
+            merged.putAll(extraParameters);
+            return new Where(jpql + " AND " + condition, merged);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.vladprotchenko.authservice.repository;
+
+import io.vladprotchenko.authservice.dto.OutboxEvent;
+import io.vladprotchenko.authservice.dto.OutboxMessage;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to {@code outbox_events}. Rows are written in the producing transaction and deleted by the relay once
+ * Kafka acknowledged them, so the table only ever holds undelivered events.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxRepository {
+
+    static final String INSERT_EVENT = """
+            INSERT INTO outbox_events (topic, message_key, event_type, payload, created_at)
+            VALUES (?, ?, ?, ?, now() AT TIME ZONE 'UTC')
+        """;
+
+    static final String LOCK_BATCH = """
+            SELECT id, topic, message_key, event_type, payload, created_at
+            FROM outbox_events
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        """;
+
+    /**
+     * Transaction-scoped advisory lock key that makes the relay single-writer across nodes.
+     */
+    public static final long RELAY_LOCK_KEY = 0x6f75_7462_6f78L;
+
+    static final String TRY_LOCK_RELAY = "SELECT pg_try_advisory_xact_lock(?)";
+
+    static final String DELETE_EVENTS = "DELETE FROM outbox_events WHERE id = ANY(?)";
+
+    static final String FIND_OLDEST_CREATED_AT = "SELECT created_at FROM outbox_events ORDER BY id LIMIT 1";
+
+    JdbcTemplate jdbcTemplate;
+
+    public void insert(String topic, List<OutboxMessage> messages) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, messages, messages.size(), (ps, message) -> {
+            ps.setString(1, topic);
+            ps.setString(2, message.key());
+            ps.setString(3, message.eventType());
+            ps.setBytes(4, message.payload());
+        });
+    }
+
+    /**
+     * Takes the relay lock for the caller's transaction.
+     *
+     * @return {@code false} if another relay holds it
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_RELAY, Boolean.class, RELAY_LOCK_KEY));
+    }
+
+    /**
+     * Claims the oldest undelivered events; rows stay locked until the caller's transaction ends.
+     */
+    public List<OutboxEvent> lockBatch(int limit) {
+        return jdbcTemplate.query(
+            LOCK_BATCH,
+            ps -> ps.setInt(1, limit),
+            (rs, rowNum) -> new OutboxEvent(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getBytes(5),
+                rs.getObject(6, LocalDateTime.class).toInstant(ZoneOffset.UTC)));
+    }
+
+    public void delete(Collection<Long> ids) {
+        jdbcTemplate.update(
+            DELETE_EVENTS,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    public Optional<Instant> findOldestCreatedAt() {
+        return jdbcTemplate.query(
+                FIND_OLDEST_CREATED_AT,
+                (rs, rowNum) -> rs.getObject(1, LocalDateTime.class).toInstant(ZoneOffset.UTC))
+            .stream()
+            .findFirst();
+    }
+}
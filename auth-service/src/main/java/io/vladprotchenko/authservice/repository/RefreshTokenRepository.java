@@ -7,14 +7,19 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByToken(String token);
 
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.account a JOIN FETCH a.role WHERE rt.token IN :tokens")
+    List<RefreshToken> findAllWithAccountByTokenIn(@Param("tokens") Collection<String> tokens);
+
     @Modifying
     @Query(
-        "DELETE FROM RefreshToken rt WHERE rt.account.id = (SELECT a.id FROM Account a WHERE a.email = :email)")
+        "DELETE FROM RefreshToken rt WHERE rt.account.id = (SELECT a.id FROM Account a WHERE lower(a.email) = lower(:email))")
     void deleteRefreshTokenByAccountEmail(@Param("email") String email);
 }
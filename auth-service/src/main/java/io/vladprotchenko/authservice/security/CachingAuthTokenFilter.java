@@ -0,0 +1,211 @@
+package io.vladprotchenko.authservice.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.vladprotchenko.authapi.security.CompactTokenClaims;
+import io.vladprotchenko.ensstartercore.security.filter.AuthTokenFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the authentication {@link AuthTokenFilter} built for a token until the token expires, so repeated
+ * requests with the same token skip Base64 and JSON decoding and the HMAC check.
+ *
+ * <p>Entries are keyed by a 64-bit FNV-1a hash of the raw token and keep the token itself, so a hash collision is
+ * a miss, never someone else's authentication. A miss runs the wrapped filter unchanged and caches whatever
+ * authentication it put into the context; compact-profile tokens are first translated with
+ * {@link CompactTokenTranslator}, since the wrapped filter only knows the standard claims. Requests matched by
+ * {@code publicPaths} are not authenticated at all.
+ *
+ * <p>Hit ratio is published as the {@code verified_tokens} cache metrics, the cost of each miss as
+ * {@code auth.token.verification}.
+ */
+@Slf4j
+public class CachingAuthTokenFilter extends OncePerRequestFilter {
+
+    static final String CACHE_NAME = "verified_tokens";
+    static final String BEARER_PREFIX = "Bearer ";
+    static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AuthTokenFilter delegate;
+    private final CompactTokenTranslator compactTokenTranslator;
+    private final RequestMatcher publicPaths;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, VerifiedToken> cache;
+    private final Timer verificationTimer;
+
+    record VerifiedToken(String token, Authentication authentication, Instant expiresAt) {
+    }
+
+    public CachingAuthTokenFilter(
+            AuthTokenFilter delegate,
+            CompactTokenTranslator compactTokenTranslator,
+            RequestMatcher publicPaths,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            long maximumSize) {
+        this.delegate = delegate;
+        this.compactTokenTranslator = compactTokenTranslator;
+        this.publicPaths = publicPaths;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+        this.verificationTimer = Timer.builder("auth.token.verification")
+            .description("Time spent verifying access tokens missing from the verified-token cache")
+            .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicPaths.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String token = header.substring(BEARER_PREFIX.length());
+        long key = fnv1a(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified != null && verified.token().equals(token) && verified.expiresAt().isAfter(Instant.now())) {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(verified.authentication());
+            SecurityContextHolder.setContext(context);
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        JsonNode payload = readPayload(token);
+        HttpServletRequest delegateRequest = request;
+        if (payload != null && payload.has(CompactTokenClaims.ACCOUNT_ID)) {
+            String standardToken = compactTokenTranslator.toStandard(token).orElse(null);
+            if (standardToken != null) {
+                delegateRequest = new BearerTokenRequest(request, standardToken);
+            }
+        }
+        delegate.doFilter(delegateRequest, response, (req, res) -> {
+            verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            remember(key, token, payload);
+            chain.doFilter(request, res);
+        });
+    }
+
+    private void remember(long key, String token, JsonNode payload) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || payload == null) {
+            return;
+        }
+        JsonNode exp = payload.get("exp");
+        if (exp != null && exp.canConvertToLong()) {
+            cache.put(key, new VerifiedToken(token, authentication, Instant.ofEpochSecond(exp.asLong())));
+        }
+    }
+
+    /**
+     * Decodes the claims of a token without checking its signature; only used to route and to read {@code exp} of
+     * tokens the wrapped filter then verifies.
+     */
+    private JsonNode readPayload(String token) {
+        int start = token.indexOf('.');
+        int end = token.indexOf('.', start + 1);
+        if (start < 0 || end < 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(start + 1, end)));
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Can't decode token claims. Details: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static long fnv1a(String token) {
+        long hash = FNV_OFFSET_BASIS;
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        for (byte b : bytes) {
+            hash ^= b;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Presents another bearer token to the wrapped filter.
+     */
+    private static final class BearerTokenRequest extends HttpServletRequestWrapper {
+
+        private final String authorization;
+
+        BearerTokenRequest(HttpServletRequest request, String token) {
+            super(request);
+            this.authorization = BEARER_PREFIX + token;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) ? authorization : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name)
+                ? Collections.enumeration(List.of(authorization))
+                : super.getHeaders(name);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<Long, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(Long key, VerifiedToken value, long currentTime) {
+            return Math.max(0, value.expiresAt().toEpochMilli() - System.currentTimeMillis()) * 1_000_000;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
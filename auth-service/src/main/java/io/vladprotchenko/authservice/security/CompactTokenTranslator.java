@@ -0,0 +1,72 @@
+package io.vladprotchenko.authservice.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.vladprotchenko.authapi.security.CompactTokenClaims;
+import io.vladprotchenko.ensstartercore.security.service.JwtTokenValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static io.vladprotchenko.ensstartercore.security.model.constant.JwtConstants.CLAIM_ACCOUNT_ID;
+import static io.vladprotchenko.ensstartercore.security.model.constant.JwtConstants.CLAIM_FIRST_NAME;
+import static io.vladprotchenko.ensstartercore.security.model.constant.JwtConstants.CLAIM_ROLE;
+import static io.vladprotchenko.ensstartercore.security.model.constant.JwtConstants.IS_SUPER_ADMIN_CLAIM;
+
+/**
+ * Lets validators that only know the standard claim layout accept compact-profile tokens during the migration.
+ *
+ * <p>A verified compact token is re-issued in the standard layout with the same subject, issue and expiry times. This
+ * costs one extra HMAC, paid only when {@link CachingAuthTokenFilter} misses its cache.
+ */
+@Slf4j
+@Component
+public class CompactTokenTranslator {
+
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    public CompactTokenTranslator(JwtTokenValidator jwtTokenValidator) {
+        this.signingKey = (SecretKey) jwtTokenValidator.getSigningKey();
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    /**
+     * @return the token in the standard layout, or empty if it is invalid or not a compact one
+     */
+    public Optional<String> toStandard(String token) {
+        Claims claims;
+        try {
+            claims = jwtParser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Compact token rejected. Details: {}", e.getMessage());
+            return Optional.empty();
+        }
+        if (!CompactTokenClaims.isCompact(claims)) {
+            return Optional.empty();
+        }
+
+        String role = CompactTokenClaims.role(claims);
+        Map<String, Object> standard = new HashMap<>();
+        standard.put(CLAIM_FIRST_NAME, CompactTokenClaims.firstName(claims));
+        standard.put(CLAIM_ROLE, role);
+        standard.put(CLAIM_ACCOUNT_ID, UUID.fromString(CompactTokenClaims.accountId(claims)));
+        if ("ADMIN".equals(role)) {
+            standard.put(IS_SUPER_ADMIN_CLAIM, CompactTokenClaims.superAdmin(claims));
+        }
+        return Optional.of(Jwts.builder()
+            .subject(claims.getSubject())
+            .claims(standard)
+            .issuedAt(claims.getIssuedAt())
+            .expiration(claims.getExpiration())
+            .signWith(signingKey)
+            .compact());
+    }
+}
@@ -0,0 +1,89 @@
+package io.vladprotchenko.authservice.service;
+
+import io.vladprotchenko.authapi.event.AccountChangeEvent;
+import io.vladprotchenko.authapi.event.AccountChangeEventCodec;
+import io.vladprotchenko.authapi.event.AccountChangeType;
+import io.vladprotchenko.authservice.dto.AccountSnapshot;
+import io.vladprotchenko.authservice.dto.OutboxMessage;
+import io.vladprotchenko.authservice.model.event.AccountChangedEvent;
+import io.vladprotchenko.authservice.repository.AccountRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Turns {@link AccountChangedEvent}s into {@link AccountChangeEvent}s on the compacted
+ * {@link AccountChangeEvent#TOPIC}, keyed by accountId.
+ *
+ * <p>Runs right before the mutating transaction commits and writes to the outbox, so the event carries the committed
+ * state and is published only if the change itself commits. Hard deletes are written as tombstones, which lets
+ * compaction drop the account from the topic entirely.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountChangeEventProducer {
+
+    static final int SNAPSHOT_BATCH_SIZE = 1_000;
+    static final String EVENT_TYPE = AccountChangeEvent.class.getName();
+
+    AccountRepository accountRepository;
+    OutboxService outboxService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onAccountChanged(AccountChangedEvent event) {
+        AccountChangeType type = event.type();
+        Instant changedAt = Instant.now();
+
+        List<OutboxMessage> messages = switch (type) {
+            case HARD_DELETED -> event.accountIds().stream()
+                .map(accountId -> new OutboxMessage(accountId.toString(), EVENT_TYPE, null))
+                .toList();
+            case SOFT_DELETED -> event.accountIds().stream()
+                .map(accountId -> toMessage(AccountChangeEvent.softDeleted(accountId, changedAt)))
+                .toList();
+            default -> loadSnapshots(event.accountIds()).stream()
+                .map(snapshot -> toMessage(toEvent(type, snapshot, changedAt)))
+                .toList();
+        };
+
+        outboxService.enqueueMessages(AccountChangeEvent.TOPIC, messages);
+        log.debug("{} account change events of type: {} added to outbox", messages.size(), type);
+    }
+
+    private List<AccountSnapshot> loadSnapshots(List<UUID> accountIds) {
+        List<AccountSnapshot> snapshots = new ArrayList<>(accountIds.size());
+        for (int from = 0; from < accountIds.size(); from += SNAPSHOT_BATCH_SIZE) {
+            snapshots.addAll(accountRepository.findSnapshots(
+                accountIds.subList(from, Math.min(from + SNAPSHOT_BATCH_SIZE, accountIds.size()))));
+        }
+        return snapshots;
+    }
+
+    private static AccountChangeEvent toEvent(AccountChangeType type, AccountSnapshot snapshot, Instant changedAt) {
+        return new AccountChangeEvent(
+            type,
+            snapshot.accountId(),
+            changedAt,
+            snapshot.email(),
+            snapshot.phoneNumber(),
+            snapshot.firstName(),
+            snapshot.lastName(),
+            snapshot.role() != null ? snapshot.role().name() : null,
+            snapshot.blockedUntil());
+    }
+
+    private static OutboxMessage toMessage(AccountChangeEvent event) {
+        return new OutboxMessage(event.accountId().toString(), EVENT_TYPE, AccountChangeEventCodec.encode(event));
+    }
+}
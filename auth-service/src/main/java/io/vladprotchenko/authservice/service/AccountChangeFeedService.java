@@ -0,0 +1,94 @@
+package io.vladprotchenko.authservice.service;
+
+import io.vladprotchenko.authapi.dto.response.AccountChangesResponse;
+import io.vladprotchenko.authservice.repository.AccountChangeRepository;
+import io.vladprotchenko.authservice.repository.AccountChangeRepository.ChangeRow;
+import io.vladprotchenko.authservice.util.ChangeCursor;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves the account change feed.
+ *
+ * <p>Requests that find no changes can wait for them: they are parked as {@link DeferredResult}s without holding a
+ * request thread and re-checked on every poll tick, which also picks up changes committed on other nodes. Waiters
+ * on the same cursor, typically replicas that are in sync, share one query per tick.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountChangeFeedService {
+
+    AccountChangeRepository accountChangeRepository;
+
+    Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+    record Waiter(ChangeCursor cursor, int limit, DeferredResult<AccountChangesResponse> result) {
+    }
+
+    record PageKey(ChangeCursor cursor, int limit) {
+    }
+
+    public DeferredResult<AccountChangesResponse> awaitChanges(String cursor, int limit, int waitSeconds) {
+        ChangeCursor after = ChangeCursor.decode(cursor);
+        AccountChangesResponse page = readChanges(after, limit);
+        if (!page.getChanges().isEmpty() || waitSeconds == 0) {
+            DeferredResult<AccountChangesResponse> result = new DeferredResult<>();
+            result.setResult(page);
+            return result;
+        }
+
+        DeferredResult<AccountChangesResponse> result =
+            new DeferredResult<>(Duration.ofSeconds(waitSeconds).toMillis(), page);
+        Waiter waiter = new Waiter(after, limit, result);
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        log.debug("Waiting up to {}s for account changes after cursor: {}", waitSeconds, cursor);
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.changeFeed.pollIntervalMs}")
+    public void completeWaiters() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        Map<PageKey, AccountChangesResponse> pages = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            if (waiter.result().isSetOrExpired()) {
+                waiters.remove(waiter);
+                continue;
+            }
+            try {
+                AccountChangesResponse page = pages.computeIfAbsent(
+                    new PageKey(waiter.cursor(), waiter.limit()), key -> readChanges(key.cursor(), key.limit()));
+                if (!page.getChanges().isEmpty()) {
+                    waiter.result().setResult(page);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to read account changes for a waiting request. Details: {}", e.getMessage());
+                waiter.result().setErrorResult(e);
+            }
+        }
+    }
+
+    private AccountChangesResponse readChanges(ChangeCursor after, int limit) {
+        List<ChangeRow> rows = accountChangeRepository.findChanges(after, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<ChangeRow> page = hasMore ? rows.subList(0, limit) : rows;
+        ChangeCursor next = page.isEmpty() ? after : page.getLast().cursor();
+        return new AccountChangesResponse(page.stream().map(ChangeRow::change).toList(), next.encode(), hasMore);
+    }
+}
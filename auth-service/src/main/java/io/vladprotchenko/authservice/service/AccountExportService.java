@@ -0,0 +1,123 @@
+package io.vladprotchenko.authservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vladprotchenko.authservice.dto.AccountExportRow;
+import io.vladprotchenko.authservice.dto.AccountSearchFilter;
+import io.vladprotchenko.authservice.dto.request.UserSearchRequest;
+import io.vladprotchenko.authservice.model.constant.StreamFormat;
+import io.vladprotchenko.authservice.repository.AccountExportRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes accounts matching the admin search filter straight to an output stream, one row at a time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountExportService {
+
+    static final int CSV_BUFFER_SIZE = 64 * 1024;
+    static final String CSV_HEADER =
+        "account_id,email,first_name,last_name,phone_number,role,blocked_until,is_soft_deleted,created_at,updated_at";
+    static final String CSV_LINE_SEPARATOR = "\r\n";
+
+    AccountExportRepository accountExportRepository;
+    ObjectMapper objectMapper;
+
+    public long export(UserSearchRequest request, StreamFormat format, OutputStream out) throws IOException {
+        log.info("Starting {} export of accounts", format);
+        long startedAt = System.nanoTime();
+        Instant utcNow = Instant.now();
+        AccountSearchFilter filter = AccountSearchFilter.of(request);
+
+        long rows = switch (format) {
+            case NDJSON -> exportNdjson(filter, utcNow, out);
+            case CSV -> exportCsv(filter, utcNow, out);
+        };
+
+        log.info("Exported {} accounts as {} in {} ms",
+            rows, format, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return rows;
+    }
+
+    private long exportNdjson(AccountSearchFilter filter, Instant utcNow, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+
+            return accountExportRepository.forEach(filter, utcNow, row -> {
+                generator.writeStartObject();
+                generator.writeStringField("accountId", row.accountId().toString());
+                generator.writeStringField("email", row.email());
+                generator.writeStringField("firstName", row.firstName());
+                generator.writeStringField("lastName", row.lastName());
+                generator.writeStringField("phoneNumber", row.phoneNumber());
+                generator.writeStringField("role", row.role());
+                generator.writeStringField("blockedUntil", Objects.toString(row.blockedUntil(), null));
+                generator.writeBooleanField("isSoftDeleted", row.softDeleted());
+                generator.writeStringField("createdAt", row.createdAt().toString());
+                generator.writeStringField("updatedAt", row.updatedAt().toString());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private long exportCsv(AccountSearchFilter filter, Instant utcNow, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write(CSV_LINE_SEPARATOR);
+
+        long rows = accountExportRepository.forEach(filter, utcNow, row -> writeCsvRow(writer, row));
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeCsvRow(Writer writer, AccountExportRow row) throws IOException {
+        writer.write(row.accountId().toString());
+        writeCsvField(writer, row.email());
+        writeCsvField(writer, row.firstName());
+        writeCsvField(writer, row.lastName());
+        writeCsvField(writer, row.phoneNumber());
+        writeCsvField(writer, row.role());
+        writeCsvField(writer, Objects.toString(row.blockedUntil(), null));
+        writeCsvField(writer, Boolean.toString(row.softDeleted()));
+        writeCsvField(writer, row.createdAt().toString());
+        writeCsvField(writer, row.updatedAt().toString());
+        writer.write(CSV_LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes a leading separator and the RFC 4180 encoding of the value; {@code null} becomes an empty field.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        boolean needsQuoting = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuoting) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
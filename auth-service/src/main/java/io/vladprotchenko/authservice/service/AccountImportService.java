@@ -0,0 +1,289 @@
+package io.vladprotchenko.authservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vladprotchenko.authapi.event.AccountChangeType;
+import io.vladprotchenko.authservice.dto.BulkAccountRow;
+import io.vladprotchenko.authservice.dto.request.CreateUserRequest;
+import io.vladprotchenko.authservice.dto.response.ImportRowResult;
+import io.vladprotchenko.authservice.model.Role;
+import io.vladprotchenko.authservice.model.constant.ImportRowStatus;
+import io.vladprotchenko.authservice.model.constant.StreamFormat;
+import io.vladprotchenko.authservice.model.event.AccountChangedEvent;
+import io.vladprotchenko.authservice.repository.AccountBulkRepository;
+import io.vladprotchenko.authservice.repository.RoleRepository;
+import io.vladprotchenko.authservice.util.PasswordGenerator;
+import io.vladprotchenko.ensstartercore.security.model.constant.UserRole;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static io.vladprotchenko.authservice.config.PasswordEncoderConfig.PASSWORD_HASHING_EXECUTOR;
+
+/**
+ * Imports USER accounts from an NDJSON or CSV stream in chunks, writing one NDJSON result per input row.
+ *
+ * <p>Per chunk: rows are validated and deduplicated in memory, checked against existing emails in one query,
+ * temporary passwords are hashed in parallel on the {@code passwordHashingExecutor}, and accounts, users and
+ * temporary passwords are inserted with one set-based statement each in a single transaction. A malformed row
+ * never fails the import; it is reported as {@link ImportRowStatus#INVALID}. If the database still rejects a chunk,
+ * its rows are reported as {@link ImportRowStatus#INVALID} and the import moves on to the next chunk.
+ *
+ * <p>CSV input must start with the header {@value #CSV_HEADER}; quoted fields may not span lines.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountImportService {
+
+    static final int CHUNK_SIZE = 1_000;
+    static final String CSV_HEADER = "first_name,last_name,email,phone_number";
+    static final int CSV_COLUMNS = 4;
+
+    AccountBulkRepository accountBulkRepository;
+    RoleRepository roleRepository;
+    PasswordEncoder passwordEncoder;
+    PasswordGenerator passwordGenerator;
+    Validator validator;
+    ObjectMapper objectMapper;
+    TransactionTemplate transactionTemplate;
+    ApplicationEventPublisher eventPublisher;
+    @Qualifier(PASSWORD_HASHING_EXECUTOR) ExecutorService passwordHashingExecutor;
+
+    @Value("${app.tempPassword.expirationHours}") int tempPasswordExpirationHours;
+
+    public Map<ImportRowStatus, Long> importAccounts(InputStream in, StreamFormat format, OutputStream out)
+        throws IOException {
+
+        log.info("Starting {} import of user accounts", format);
+        long startedAt = System.nanoTime();
+        Role role = findUserRole();
+        Map<ImportRowStatus, Long> totals = new EnumMap<>(ImportRowStatus.class);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                 .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+
+            List<ParsedRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (format == StreamFormat.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                    continue;
+                }
+                chunk.add(parse(lineNumber, line, format));
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeResults(generator, importChunk(chunk, role), totals);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeResults(generator, importChunk(chunk, role), totals);
+            }
+        }
+
+        log.info("Import finished in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), totals);
+        return totals;
+    }
+
+    private List<ImportRowResult> importChunk(List<ParsedRow> chunk, Role role) {
+        ImportRowResult[] results = new ImportRowResult[chunk.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            ParsedRow row = chunk.get(i);
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                results[i] = ImportRowResult.rejected(row.line(), row.email(), ImportRowStatus.INVALID, error);
+            } else if (candidates.putIfAbsent(row.email().toLowerCase(Locale.ROOT), i) != null) {
+                results[i] = ImportRowResult.rejected(
+                    row.line(), row.email(), ImportRowStatus.DUPLICATE, "Email appears earlier in the import");
+            }
+        }
+
+        Set<String> existing = accountBulkRepository.findExistingEmails(candidates.keySet());
+        for (String email : existing) {
+            int i = candidates.remove(email);
+            results[i] = ImportRowResult.rejected(
+                chunk.get(i).line(), chunk.get(i).email(), ImportRowStatus.DUPLICATE, "Email is already registered");
+        }
+
+        List<Integer> indexes = List.copyOf(candidates.values());
+        List<String> passwords = new ArrayList<>(indexes.size());
+        List<CompletableFuture<String>> hashes = new ArrayList<>(indexes.size());
+        for (int k = 0; k < indexes.size(); k++) {
+            String password = passwordGenerator.generateTempPassword();
+            passwords.add(password);
+            hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), passwordHashingExecutor));
+        }
+
+        List<BulkAccountRow> rows = new ArrayList<>(indexes.size());
+        for (int k = 0; k < indexes.size(); k++) {
+            CreateUserRequest request = chunk.get(indexes.get(k)).request();
+            rows.add(new BulkAccountRow(
+                UUID.randomUUID(), request.email(), request.firstName(), request.lastName(), request.phoneNumber(),
+                hashes.get(k).join()));
+        }
+
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(tempPasswordExpirationHours));
+        Map<UUID, Long> inserted;
+        try {
+            inserted = transactionTemplate.execute(status -> {
+                Map<UUID, Long> ids = accountBulkRepository.insertAccounts(rows, role.getId());
+                accountBulkRepository.insertUsers(ids.values());
+                accountBulkRepository.insertTemporaryPasswords(rows, ids, expiresAt);
+                if (!ids.isEmpty()) {
+                    eventPublisher.publishEvent(
+                        new AccountChangedEvent(AccountChangeType.CREATED, List.copyOf(ids.keySet())));
+                }
+                return ids;
+            });
+        } catch (DataAccessException e) {
+            log.error("Failed to insert import chunk starting at line {}. Details: {}",
+                chunk.getFirst().line(), e.getMostSpecificCause().getMessage());
+            for (int i : indexes) {
+                results[i] = ImportRowResult.rejected(chunk.get(i).line(), chunk.get(i).email(),
+                    ImportRowStatus.INVALID, "Rejected by the database together with its chunk");
+            }
+            return List.of(results);
+        }
+
+        for (int k = 0; k < indexes.size(); k++) {
+            int i = indexes.get(k);
+            BulkAccountRow row = rows.get(k);
+            results[i] = inserted.containsKey(row.accountId())
+                ? ImportRowResult.created(chunk.get(i).line(), row.email(), row.accountId(), passwords.get(k))
+                : ImportRowResult.rejected(
+                    chunk.get(i).line(), row.email(), ImportRowStatus.DUPLICATE, "Email is already registered");
+        }
+        return List.of(results);
+    }
+
+    private void writeResults(JsonGenerator generator, List<ImportRowResult> results, Map<ImportRowStatus, Long> totals)
+        throws IOException {
+
+        for (ImportRowResult result : results) {
+            objectMapper.writeValue(generator, result);
+            generator.writeRaw('\n');
+            totals.merge(result.status(), 1L, Long::sum);
+        }
+        generator.flush();
+    }
+
+    private ParsedRow parse(long lineNumber, String line, StreamFormat format) {
+        try {
+            CreateUserRequest request = switch (format) {
+                case NDJSON -> objectMapper.readValue(line, CreateUserRequest.class);
+                case CSV -> parseCsv(line);
+            };
+            if (request == null) {
+                return new ParsedRow(lineNumber, null, "Empty row");
+            }
+            return new ParsedRow(lineNumber, request, null);
+        } catch (JsonProcessingException e) {
+            return new ParsedRow(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return new ParsedRow(lineNumber, null, e.getMessage());
+        }
+    }
+
+    private String validate(CreateUserRequest request) {
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    private Role findUserRole() {
+        return roleRepository.findByName(UserRole.USER).orElseThrow(
+            () -> {
+                log.error("Role with name: {} not found", UserRole.USER);
+                return new EntityNotFoundException(
+                    String.format("Role with name: %s not found", UserRole.USER));
+            });
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.strip().equalsIgnoreCase(CSV_HEADER);
+    }
+
+    private static CreateUserRequest parseCsv(String line) {
+        List<String> fields = new ArrayList<>(CSV_COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        if (quoted || fields.size() != CSV_COLUMNS) {
+            throw new IllegalArgumentException(
+                String.format("Expected %d CSV columns: %s", CSV_COLUMNS, CSV_HEADER));
+        }
+        return new CreateUserRequest(
+            emptyToNull(fields.get(0)), emptyToNull(fields.get(1)), emptyToNull(fields.get(2)), emptyToNull(fields.get(3)));
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private record ParsedRow(long line, CreateUserRequest request, String error) {
+        String email() {
+            return request == null ? null : request.email();
+        }
+    }
+}
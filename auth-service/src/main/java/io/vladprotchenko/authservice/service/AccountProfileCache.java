@@ -0,0 +1,137 @@
+package io.vladprotchenko.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authservice.model.constant.RedisChannel;
+import io.vladprotchenko.authservice.model.event.AccountChangedEvent;
+import io.vladprotchenko.authservice.repository.AccountBulkRepository;
+import io.vladprotchenko.authservice.repository.AccountRepository;
+import io.vladprotchenko.authservice.util.UserMapper;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Node-local cache of {@link AccountDto} profiles keyed by accountId.
+ *
+ * <p>Concurrent misses for the same account are collapsed into a single database load. Entries are dropped after
+ * every committed account change, and the change is broadcast over Redis pub/sub so other nodes drop their copies too.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountProfileCache implements MessageListener {
+
+    static final String CACHE_NAME = "account_profiles";
+    static final String ID_SEPARATOR = ",";
+
+    AccountRepository accountRepository;
+    AccountBulkRepository accountBulkRepository;
+    UserMapper userMapper;
+    RedisTemplate<String, Object> redisTemplate;
+    Cache<UUID, AccountDto> cache;
+
+    public AccountProfileCache(
+        AccountRepository accountRepository,
+        AccountBulkRepository accountBulkRepository,
+        UserMapper userMapper,
+        RedisTemplate<String, Object> redisTemplate,
+        RedisMessageListenerContainer listenerContainer,
+        MeterRegistry meterRegistry,
+        @Value("${app.cache.accountProfile.maximumSize}") long maximumSize,
+        @Value("${app.cache.accountProfile.expireAfterWriteMinutes}") long expireAfterWriteMinutes) {
+
+        this.accountRepository = accountRepository;
+        this.accountBulkRepository = accountBulkRepository;
+        this.userMapper = userMapper;
+        this.redisTemplate = redisTemplate;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisChannel.ACCOUNT_PROFILE_INVALIDATION.getName()));
+    }
+
+    public AccountDto get(UUID accountId) {
+        return cache.get(accountId, this::load);
+    }
+
+    /**
+     * Resolves many profiles at once; misses are loaded with a single query. Unknown or deleted accounts are absent
+     * from the result.
+     */
+    public Map<UUID, AccountDto> getAll(Collection<UUID> accountIds) {
+        return cache.getAll(accountIds, this::loadAll);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        List<UUID> accountIds = event.accountIds();
+        cache.invalidateAll(accountIds);
+
+        String payload = accountIds.stream().map(UUID::toString).collect(Collectors.joining(ID_SEPARATOR));
+        try {
+            redisTemplate.convertAndSend(RedisChannel.ACCOUNT_PROFILE_INVALIDATION.getName(), payload);
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast profile invalidation for accounts: {}. Details: {}", payload, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        log.debug("Received profile invalidation for accounts: {}", payload);
+
+        try {
+            List<UUID> accountIds = Arrays.stream(payload.split(ID_SEPARATOR)).map(UUID::fromString).toList();
+            cache.invalidateAll(accountIds);
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed profile invalidation message: {}. Dropping whole cache", payload);
+            cache.invalidateAll();
+        }
+    }
+
+    private Map<UUID, AccountDto> loadAll(Set<? extends UUID> accountIds) {
+        return accountBulkRepository.findProfiles(accountIds).stream()
+            .collect(Collectors.toMap(profile -> UUID.fromString(profile.getAccountId()), Function.identity()));
+    }
+
+    private AccountDto load(UUID accountId) {
+        var account = accountRepository
+            .findByAccountId(accountId)
+            .orElseThrow(
+                () -> {
+                    log.error("Account with ID: {} not found", accountId);
+                    return new EntityNotFoundException(
+                        String.format("Account with ID: %s not found", accountId));
+                });
+        return userMapper.userToClientDto(account);
+    }
+}
@@ -0,0 +1,107 @@
+package io.vladprotchenko.authservice.service;
+
+import io.vladprotchenko.authservice.dto.AccountSearchFilter;
+import io.vladprotchenko.authservice.dto.BulkTarget;
+import io.vladprotchenko.authservice.dto.request.BulkAccountRequest;
+import io.vladprotchenko.authservice.dto.request.UserSearchRequest;
+import io.vladprotchenko.authservice.dto.response.BulkRejection;
+import io.vladprotchenko.authservice.dto.response.PurgeJobResponse;
+import io.vladprotchenko.authservice.model.Account;
+import io.vladprotchenko.authservice.model.AccountPurgeJob;
+import io.vladprotchenko.authservice.repository.AccountPurgeItemRepository;
+import io.vladprotchenko.authservice.repository.AccountPurgeJobRepository;
+import io.vladprotchenko.authservice.repository.AccountRepository;
+import io.vladprotchenko.ensstartercore.security.service.AuthenticationFacade;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.InvalidRequestException;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Registers bulk hard-delete jobs. The deletion itself is done in the background by {@link AccountPurgeWorker}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountPurgeService {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    AccountRepository accountRepository;
+    AccountPurgeJobRepository purgeJobRepository;
+    AccountPurgeItemRepository purgeItemRepository;
+    AuthenticationFacade authenticationFacade;
+
+    @Transactional
+    public PurgeJobResponse createPurgeJob(BulkAccountRequest request) {
+        UUID adminAccountId = authenticationFacade.getAccountIdFromAuthentication();
+        log.debug("Creating hard delete job by admin with ID: {}", adminAccountId);
+
+        entityManager.unwrap(Session.class).disableFilter(Account.FILTER_ACTIVE);
+
+        Set<UUID> requested = request.getAccountIds() != null
+            ? new LinkedHashSet<>(request.getAccountIds())
+            : findTargetsByFilter(request.getFilter());
+
+        List<BulkRejection> rejections = new ArrayList<>();
+        if (requested.remove(adminAccountId)) {
+            rejections.add(new BulkRejection(adminAccountId, "You can't hard delete yourself"));
+        }
+
+        AccountPurgeJob job = purgeJobRepository.save(new AccountPurgeJob().setRequestedBy(adminAccountId));
+        Set<UUID> added = new HashSet<>(purgeItemRepository.insertExistingItems(job.getId(), requested));
+        job.setTotal(added.size());
+
+        requested.stream()
+            .filter(accountId -> !added.contains(accountId))
+            .forEach(accountId -> rejections.add(new BulkRejection(accountId, "Account not found")));
+
+        log.info("Hard delete job: {} created by admin with ID: {} for {} accounts, {} rejected",
+            job.getId(), adminAccountId, added.size(), rejections.size());
+        return new PurgeJobResponse(job.getId(), job.getStatus(), job.getTotal(), 0, 0, job.getCreatedAt(), rejections);
+    }
+
+    @Transactional(readOnly = true)
+    public PurgeJobResponse getPurgeJob(Long jobId) {
+        AccountPurgeJob job = purgeJobRepository.findById(jobId).orElseThrow(
+            () -> {
+                log.error("Hard delete job with ID: {} not found", jobId);
+                return new EntityNotFoundException(String.format("Hard delete job with ID: %s not found", jobId));
+            });
+
+        AccountPurgeItemRepository.Progress progress = purgeItemRepository.countProgress(jobId);
+        return new PurgeJobResponse(job.getId(), job.getStatus(), job.getTotal(),
+            progress.deleted(), progress.eventsSent(), job.getCreatedAt(), List.of());
+    }
+
+    private Set<UUID> findTargetsByFilter(UserSearchRequest filter) {
+        List<BulkTarget> targets = accountRepository.findBulkTargets(
+            AccountSearchFilter.of(filter), Instant.now(), BulkAccountRequest.MAX_ACCOUNTS + 1);
+
+        if (targets.size() > BulkAccountRequest.MAX_ACCOUNTS) {
+            log.error("Hard delete filter matches more than {} accounts", BulkAccountRequest.MAX_ACCOUNTS);
+            throw new InvalidRequestException(String.format(
+                "Filter matches more than %d accounts. Narrow it down", BulkAccountRequest.MAX_ACCOUNTS));
+        }
+        Set<UUID> accountIds = new LinkedHashSet<>();
+        targets.forEach(target -> accountIds.add(target.accountId()));
+        return accountIds;
+    }
+}
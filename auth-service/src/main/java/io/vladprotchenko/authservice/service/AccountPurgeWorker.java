@@ -0,0 +1,96 @@
+package io.vladprotchenko.authservice.service;
+
+import io.vladprotchenko.authapi.event.AccountChangeType;
+import io.vladprotchenko.authservice.model.AccountPurgeJob;
+import io.vladprotchenko.authservice.model.constant.PurgeJobStatus;
+import io.vladprotchenko.authservice.model.event.AccountChangedEvent;
+import io.vladprotchenko.authservice.repository.AccountBulkRepository;
+import io.vladprotchenko.authservice.repository.AccountPurgeItemRepository;
+import io.vladprotchenko.authservice.repository.AccountPurgeJobRepository;
+import io.vladprotchenko.ensstartercore.model.kafka.UserDeletionEvent;
+import io.vladprotchenko.ensstartercore.model.kafka.constant.KafkaConstants;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Drives running hard-delete jobs to completion.
+ *
+ * <p>Each step runs in its own short transaction over a bounded chunk: the claimed accounts are deleted, their
+ * deletion events keyed by accountId are written to the outbox and the items are checkpointed together, so a crash
+ * either keeps or rolls back all three. Delivery to Kafka is left to {@link OutboxRelay}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountPurgeWorker {
+
+    AccountPurgeJobRepository purgeJobRepository;
+    AccountPurgeItemRepository purgeItemRepository;
+    AccountBulkRepository accountBulkRepository;
+    TransactionTemplate transactionTemplate;
+    ApplicationEventPublisher eventPublisher;
+    OutboxService outboxService;
+
+    @Value("${app.purge.chunkSize}") int chunkSize;
+
+    @Scheduled(fixedDelayString = "${app.purge.pollIntervalMs}")
+    public void processRunningJobs() {
+        for (AccountPurgeJob job : purgeJobRepository.findByStatusOrderById(PurgeJobStatus.RUNNING)) {
+            try {
+                processJob(job.getId());
+            } catch (RuntimeException e) {
+                log.error("Hard delete job: {} failed, will resume from checkpoint. Details: {}",
+                    job.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void processJob(long jobId) {
+        log.debug("Processing hard delete job: {}", jobId);
+        int deleted;
+        do {
+            deleted = deleteChunk(jobId);
+        } while (deleted > 0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!purgeItemRepository.hasPending(jobId)) {
+                purgeJobRepository.findById(jobId).ifPresent(job -> job.setStatus(PurgeJobStatus.COMPLETED));
+                log.info("Hard delete job: {} completed", jobId);
+            }
+        });
+    }
+
+    private int deleteChunk(long jobId) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<UUID> accountIds = purgeItemRepository.lockUndeleted(jobId, chunkSize);
+            if (accountIds.isEmpty()) {
+                return 0;
+            }
+            accountBulkRepository.hardDeleteAccounts(accountIds);
+            Instant deletedAt = Instant.now();
+            Map<String, UserDeletionEvent> events = accountIds.stream().collect(Collectors.toMap(
+                UUID::toString, accountId -> new UserDeletionEvent(accountId, deletedAt)));
+            outboxService.enqueueAll(KafkaConstants.USER_DELETION_EVENTS, events);
+            purgeItemRepository.markDeleted(jobId, accountIds);
+            eventPublisher.publishEvent(new AccountChangedEvent(AccountChangeType.HARD_DELETED, accountIds));
+
+            log.debug("Hard delete job: {} deleted {} accounts", jobId, accountIds.size());
+            return accountIds.size();
+        });
+        return deleted == null ? 0 : deleted;
+    }
+}
@@ -0,0 +1,437 @@
+package io.vladprotchenko.authservice.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vladprotchenko.authservice.dto.AccountSearchDocument;
+import io.vladprotchenko.authservice.dto.request.UserSearchRequest;
+import io.vladprotchenko.authservice.dto.response.UserListViewDto;
+import io.vladprotchenko.authservice.model.Account;
+import io.vladprotchenko.authservice.model.constant.RedisChannel;
+import io.vladprotchenko.authservice.model.event.AccountChangedEvent;
+import io.vladprotchenko.authservice.repository.AccountRepository;
+import io.vladprotchenko.authservice.util.SearchPatterns;
+import io.vladprotchenko.ensstartercore.security.model.constant.UserRole;
+import jakarta.persistence.EntityManager;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-process trigram index over account email, names and phone digits answering the same queries as
+ * {@link AccountRepository#searchUsers}.
+ *
+ * <p>Postings and the role/deleted facets are {@link RoaringBitmap}s keyed by the account primary key. The index is
+ * built by streaming the accounts table once the application is ready. It is kept current from committed
+ * {@link AccountChangedEvent}s and from the {@link RedisChannel#ACCOUNT_PROFILE_INVALIDATION} broadcasts, which carry
+ * changes made on other nodes; the affected accounts are re-read either way. Until the build finishes
+ * {@link #isReady()} is {@code false} and callers should query the database instead. Blocking is time-dependent, so
+ * it is checked per candidate rather than held as a facet.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.search.inMemoryIndex.enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountSearchIndex implements MessageListener {
+
+    static final int GRAM_LENGTH = 3;
+    static final int REFRESH_BATCH_SIZE = 1_000;
+    static final long POSTING_ENTRY_OVERHEAD_BYTES = 64;
+    static final long DOCUMENT_OVERHEAD_BYTES = 256;
+    static final double BYTES_PER_MEGABYTE = 1024d * 1024d;
+
+    enum Field { EMAIL, FIRST_NAME, LAST_NAME, PHONE }
+
+    AccountRepository accountRepository;
+    EntityManager entityManager;
+    TransactionTemplate transactionTemplate;
+
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+    Map<Long, RoaringBitmap> postings = new HashMap<>();
+    Map<Integer, AccountSearchDocument> documents = new HashMap<>();
+    Map<UUID, Integer> docIds = new HashMap<>();
+    RoaringBitmap admins = new RoaringBitmap();
+    RoaringBitmap users = new RoaringBitmap();
+    RoaringBitmap deleted = new RoaringBitmap();
+
+    Object buildMonitor = new Object();
+    Set<UUID> changedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    @NonFinal
+    volatile boolean ready;
+
+    public AccountSearchIndex(
+        AccountRepository accountRepository,
+        EntityManager entityManager,
+        TransactionTemplate transactionTemplate,
+        RedisMessageListenerContainer listenerContainer,
+        MeterRegistry meterRegistry) {
+
+        this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisChannel.ACCOUNT_PROFILE_INVALIDATION.getName()));
+
+        Gauge.builder("account.search.index.documents", this, AccountSearchIndex::size)
+            .register(meterRegistry);
+        Gauge.builder("account.search.index.memory", this, AccountSearchIndex::estimateMemoryBytes)
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        log.info("Building in-memory account search index");
+        long startedAt = System.nanoTime();
+
+        entityManager.unwrap(Session.class).disableFilter(Account.FILTER_ACTIVE);
+        try (Stream<AccountSearchDocument> stream = accountRepository.streamSearchDocuments()) {
+            stream.forEach(this::upsert);
+        }
+
+        List<UUID> pending;
+        synchronized (buildMonitor) {
+            ready = true;
+            pending = List.copyOf(changedDuringBuild);
+            changedDuringBuild.clear();
+        }
+        refresh(pending);
+
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long documentCount = size();
+        double megabytes = estimateMemoryBytes() / BYTES_PER_MEGABYTE;
+        log.info("Account search index built: {} accounts, {} postings in {} ms, ~{} MB (~{} MB per million accounts)",
+            documentCount,
+            postings.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt),
+            String.format(Locale.ROOT, "%.1f", megabytes),
+            String.format(Locale.ROOT, "%.1f", documentCount == 0 ? 0 : megabytes * 1_000_000 / documentCount));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        synchronized (buildMonitor) {
+            if (!ready) {
+                changedDuringBuild.addAll(event.accountIds());
+                return;
+            }
+        }
+        entityManager.unwrap(Session.class).disableFilter(Account.FILTER_ACTIVE);
+        refresh(event.accountIds());
+    }
+
+    /**
+     * Applies changes broadcast by other nodes. A node also receives its own broadcasts, which re-reads accounts the
+     * local listener has just refreshed; that is harmless.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        List<UUID> accountIds;
+        try {
+            accountIds = Arrays.stream(payload.split(AccountProfileCache.ID_SEPARATOR)).map(UUID::fromString).toList();
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed account change broadcast: {}. Search index not refreshed", payload);
+            return;
+        }
+
+        synchronized (buildMonitor) {
+            if (!ready) {
+                changedDuringBuild.addAll(accountIds);
+                return;
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).disableFilter(Account.FILTER_ACTIVE);
+            refresh(accountIds);
+        });
+    }
+
+    public Slice<UserListViewDto> search(UserSearchRequest request, Instant utcNow, Pageable pageable) {
+        String needle = SearchPatterns.normalize(request.getSearchText());
+        String phoneNeedle = SearchPatterns.phoneDigits(request.getSearchText());
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = new RoaringBitmap();
+            if (request.isAdmins()) {
+                candidates.or(admins);
+            }
+            if (request.isUsers()) {
+                candidates.or(users);
+            }
+            if (request.isDeleted()) {
+                candidates.and(deleted);
+            } else {
+                candidates.andNot(deleted);
+            }
+            if (needle != null) {
+                RoaringBitmap textCandidates = textCandidates(needle, phoneNeedle);
+                if (textCandidates != null) {
+                    candidates.and(textCandidates);
+                }
+            }
+
+            List<UserListViewDto> content = new ArrayList<>(pageable.getPageSize());
+            long toSkip = pageable.getOffset();
+            boolean hasNext = false;
+
+            // Primary keys grow with creation time, so descending ids match the database's newest-first order
+            IntIterator iterator = candidates.getReverseIntIterator();
+            while (iterator.hasNext()) {
+                AccountSearchDocument document = documents.get(iterator.next());
+                if (!matchesBlocked(document, request.isBlocked(), utcNow)
+                    || (needle != null && !matchesText(document, needle, phoneNeedle))) {
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                    continue;
+                }
+                if (content.size() == pageable.getPageSize()) {
+                    hasNext = true;
+                    break;
+                }
+                content.add(new UserListViewDto(
+                    document.accountId(), document.email(), document.firstName(), document.lastName(), document.role()));
+            }
+            return new SliceImpl<>(content, pageable, hasNext);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate retained size: exact bitmap sizes plus a fixed per-entry overhead for maps, boxed keys and strings.
+     */
+    long estimateMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = admins.getLongSizeInBytes() + users.getLongSizeInBytes() + deleted.getLongSizeInBytes();
+            for (RoaringBitmap posting : postings.values()) {
+                bytes += POSTING_ENTRY_OVERHEAD_BYTES + posting.getLongSizeInBytes();
+            }
+            for (AccountSearchDocument document : documents.values()) {
+                bytes += DOCUMENT_OVERHEAD_BYTES + 2L * (length(document.email()) + length(document.firstName())
+                    + length(document.lastName()) + length(document.phoneDigits()));
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void refresh(Collection<UUID> accountIds) {
+        List<UUID> ids = List.copyOf(accountIds);
+        for (int from = 0; from < ids.size(); from += REFRESH_BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(from + REFRESH_BATCH_SIZE, ids.size()));
+            Map<UUID, AccountSearchDocument> found = accountRepository.findSearchDocuments(batch).stream()
+                .collect(Collectors.toMap(AccountSearchDocument::accountId, Function.identity()));
+
+            for (UUID accountId : batch) {
+                AccountSearchDocument document = found.get(accountId);
+                if (document == null) {
+                    remove(accountId);
+                } else {
+                    upsert(document);
+                }
+            }
+        }
+    }
+
+    private void upsert(AccountSearchDocument document) {
+        int docId = Math.toIntExact(document.id());
+
+        lock.writeLock().lock();
+        try {
+            AccountSearchDocument existing = documents.get(docId);
+            if (existing != null) {
+                if (existing.updatedAt().isAfter(document.updatedAt())) {
+                    return;
+                }
+                unindex(docId, existing);
+            }
+            index(docId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(UUID accountId) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIds.get(accountId);
+            if (docId != null) {
+                unindex(docId, documents.get(docId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(int docId, AccountSearchDocument document) {
+        documents.put(docId, document);
+        docIds.put(document.accountId(), docId);
+        forEachGram(document, key -> postings.computeIfAbsent(key, k -> new RoaringBitmap()).add(docId));
+
+        if (document.role() == UserRole.ADMIN) {
+            admins.add(docId);
+        } else if (document.role() == UserRole.USER) {
+            users.add(docId);
+        }
+        if (document.softDeleted()) {
+            deleted.add(docId);
+        }
+    }
+
+    private void unindex(int docId, AccountSearchDocument document) {
+        forEachGram(document, key -> {
+            RoaringBitmap posting = postings.get(key);
+            if (posting != null) {
+                posting.remove(docId);
+                if (posting.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        });
+        admins.remove(docId);
+        users.remove(docId);
+        deleted.remove(docId);
+        documents.remove(docId);
+        docIds.remove(document.accountId());
+    }
+
+    /**
+     * Returns the union of per-field trigram intersections, or {@code null} if a needle is too short to prune with
+     * trigrams and every candidate has to be checked.
+     */
+    private RoaringBitmap textCandidates(String needle, String phoneNeedle) {
+        if (needle.length() < GRAM_LENGTH || (phoneNeedle != null && phoneNeedle.length() < GRAM_LENGTH)) {
+            return null;
+        }
+        RoaringBitmap result = new RoaringBitmap();
+        result.or(fieldCandidates(Field.EMAIL, needle));
+        result.or(fieldCandidates(Field.FIRST_NAME, needle));
+        result.or(fieldCandidates(Field.LAST_NAME, needle));
+        if (phoneNeedle != null) {
+            result.or(fieldCandidates(Field.PHONE, phoneNeedle));
+        }
+        return result;
+    }
+
+    private RoaringBitmap fieldCandidates(Field field, String needle) {
+        RoaringBitmap result = null;
+        for (int offset = 0; offset + GRAM_LENGTH <= needle.length(); offset++) {
+            RoaringBitmap posting = postings.get(gramKey(field, needle, offset));
+            if (posting == null) {
+                return new RoaringBitmap();
+            }
+            result = result == null ? posting.clone() : RoaringBitmap.and(result, posting);
+        }
+        return result;
+    }
+
+    private static boolean matchesBlocked(AccountSearchDocument document, boolean blocked, Instant utcNow) {
+        boolean isBlocked = document.blockedUntil() != null && document.blockedUntil().isAfter(utcNow);
+        return blocked == isBlocked;
+    }
+
+    private static boolean matchesText(AccountSearchDocument document, String needle, String phoneNeedle) {
+        return contains(document.email(), needle)
+            || contains(document.firstName(), needle)
+            || contains(document.lastName(), needle)
+            || (phoneNeedle != null && document.phoneDigits() != null && document.phoneDigits().contains(phoneNeedle));
+    }
+
+    private static boolean contains(String value, String needle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    private static void forEachGram(AccountSearchDocument document, LongConsumer consumer) {
+        forEachGram(Field.EMAIL, document.email(), consumer);
+        forEachGram(Field.FIRST_NAME, document.firstName(), consumer);
+        forEachGram(Field.LAST_NAME, document.lastName(), consumer);
+        forEachGram(Field.PHONE, document.phoneDigits(), consumer);
+    }
+
+    private static void forEachGram(Field field, String value, LongConsumer consumer) {
+        if (value == null) {
+            return;
+        }
+        String normalized = value.toLowerCase(Locale.ROOT);
+        for (int offset = 0; offset + GRAM_LENGTH <= normalized.length(); offset++) {
+            consumer.accept(gramKey(field, normalized, offset));
+        }
+    }
+
+    private static long gramKey(Field field, String value, int offset) {
+        return (long) field.ordinal() << 48
+            | (long) value.charAt(offset) << 32
+            | (long) value.charAt(offset + 1) << 16
+            | value.charAt(offset + 2);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -1,8 +1,10 @@
 package io.vladprotchenko.authservice.service;
 
 import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authapi.event.AccountChangeType;
 import io.vladprotchenko.authservice.dto.request.ChangePasswordRequest;
 import io.vladprotchenko.authservice.dto.request.PasswordResetWithOtpDto;
+import io.vladprotchenko.authservice.dto.request.PasswordResetWithTokenDto;
 import io.vladprotchenko.authservice.dto.request.SocialUserInfo;
 import io.vladprotchenko.authservice.dto.request.UpdateAccountDto;
 import io.vladprotchenko.authservice.dto.response.AuthResponse;
@@ -12,7 +14,9 @@ import io.vladprotchenko.authservice.dto.response.SuccessResponse;
 import io.vladprotchenko.authservice.model.Account;
 import io.vladprotchenko.authservice.model.Role;
 import io.vladprotchenko.authservice.model.TemporaryPassword;
+import io.vladprotchenko.authservice.model.constant.PasswordResetMode;
 import io.vladprotchenko.authservice.model.constant.RedisKeyPrefix;
+import io.vladprotchenko.authservice.model.event.AccountChangedEvent;
 import io.vladprotchenko.authservice.repository.AccountRepository;
 import io.vladprotchenko.authservice.util.PasswordGenerator;
 import io.vladprotchenko.authservice.util.UserMapper;
@@ -30,11 +34,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.DuplicateResourceException;
 import org.apache.kafka.common.errors.InvalidRequestException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -58,10 +64,15 @@ public class AccountService {
     PasswordGenerator passwordGenerator;
     UserNotificationService userNotificationService;
     AuthenticationFacade authenticationFacade;
+    AccountProfileCache accountProfileCache;
+    ApplicationEventPublisher eventPublisher;
+    PasswordResetLinkService passwordResetLinkService;
+    TokenRevocationService tokenRevocationService;
 
     @Value("${app.otp.emailExpirationMinutes}") int expirationMinutes;
     @Value("${app.otp.resetPasswordExpirationMinutes}") int resetPasswordExpirationMinutes;
     @Value("${app.tempPassword.expirationHours}") int tempPasswordExpirationHours;
+    @Value("${app.passwordReset.mode}") PasswordResetMode passwordResetMode;
 
     @Transactional
     public CreatedAccountDto createAccount(
@@ -105,6 +116,7 @@ public class AccountService {
             account.setPasswordHash(hashedPassword);
         }
         accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.CREATED, account.getAccountId()));
 
         return new CreatedAccountDto(account, password, tempPasswordExpirationHours);
     }
@@ -122,6 +134,7 @@ public class AccountService {
                 .setLastName(socialUserInfo.getLastName());
 
         accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.CREATED, account.getAccountId()));
         log.info("Account:{} for social user created successfully", account.getAccountId());
 
         return account;
@@ -149,6 +162,7 @@ public class AccountService {
         account.setPasswordHash(newEncodedPassword);
         account.setTemporaryPassword(null);
         accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.UPDATED, account.getAccountId()));
 
         log.info("Account with email: {} successfully changed password", userEmail);
 
@@ -166,7 +180,7 @@ public class AccountService {
         var currentEmail = authenticationFacade.getUserEmailFromAuthentication();
         var userId = authenticationFacade.getAccountIdFromAuthentication();
 
-        if (currentEmail.equals(newEmail)) {
+        if (currentEmail.equalsIgnoreCase(newEmail)) {
             log.error("New provided email: {} is equal to the current one for user with ID: {}", newEmail, userId);
             throw new InvalidRequestException("New provided email is equal to the current one");
         }
@@ -228,6 +242,7 @@ public class AccountService {
         account.setRefreshToken(null);
 
         accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.EMAIL_CHANGED, account.getAccountId()));
         redisService.deleteOtp(redisKey);
 
         String message = "Changed email successfully, please log in again using this link:";
@@ -239,9 +254,13 @@ public class AccountService {
     public SuccessResponse passwordResetRequest(String email) {
         log.debug("Initiating password reset for email: {}", email);
 
-        if (accountRepository.findByEmail(email).isEmpty()) {
+        var account = accountRepository.findByEmail(email).orElseThrow(() -> {
             log.debug(LOG_ACCOUNT_NOT_FOUND, email);
-            throw new EntityNotFoundException(String.format("User with email: %s not found", email));
+            return new EntityNotFoundException(String.format("User with email: %s not found", email));
+        });
+
+        if (passwordResetMode == PasswordResetMode.LINK) {
+            return sendPasswordResetLink(account);
         }
 
         String otp = passwordGenerator.generateOtp();
@@ -262,6 +281,40 @@ public class AccountService {
         return new SuccessResponse(message, LinkConstants.RESET_PASSWORD_CONFIRM);
     }
 
+    private SuccessResponse sendPasswordResetLink(Account account) {
+        String email = account.getEmail();
+        String resetLink = passwordResetLinkService.createLink(account);
+        log.debug("Password reset link for user: {} generated successfully", email);
+
+        try {
+            userNotificationService.sendPasswordResetLinkEmail(email, PASSWORD_RESET, resetLink);
+        } catch (MessagingException e) {
+            log.error(LOG_SENDING_EMAIL_ERROR, email, e.getMessage());
+            throw new EmailSendException(String.format("Failed to send password reset email to the: %s", email));
+        }
+
+        return new SuccessResponse(
+            String.format("An email with a password reset link has been sent to your email: %s", email));
+    }
+
+    @Transactional
+    public SuccessResponse passwordResetConfirmWithLink(PasswordResetWithTokenDto request) {
+        var account = passwordResetLinkService.resolve(request.getToken());
+        log.debug("Reset password with link started for user: {}", account.getEmail());
+
+        account.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+        account.setTemporaryPassword(null);
+        account.setRefreshToken(null);
+        accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.UPDATED, account.getAccountId()));
+        tokenRevocationService.revokeAllAfterCommit(List.of(account.getAccountId()), "password reset");
+
+        log.info("User with email: {} successfully changed password", account.getEmail());
+
+        String message = "Changed password successfully, please log in again using this link: ";
+        return new SuccessResponse(message, LinkConstants.LOGIN);
+    }
+
     @Transactional
     public SuccessResponse passwordResetConfirm(PasswordResetWithOtpDto request) {
         String userEmail = request.getEmail();
@@ -285,7 +338,10 @@ public class AccountService {
         String newEncodedPassword = passwordEncoder.encode(request.getNewPassword());
         account.setPasswordHash(newEncodedPassword);
         account.setTemporaryPassword(null);
+        account.setRefreshToken(null);
         accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.UPDATED, account.getAccountId()));
+        tokenRevocationService.revokeAllAfterCommit(List.of(account.getAccountId()), "password reset");
 
         redisService.deleteOtp(redisKey);
 
@@ -300,8 +356,7 @@ public class AccountService {
         UUID userId = authenticationFacade.getAccountIdFromAuthentication();
         log.info("Getting user profile for user with ID: {}", userId);
 
-        var account = findAccountByAccountId(userId);
-        var clientDto = userMapper.userToClientDto(account);
+        var clientDto = accountProfileCache.get(userId);
 
         log.info("Successfully fetched user profile for ID: {}", userId);
 
@@ -318,6 +373,7 @@ public class AccountService {
         userMapper.updateAccountFromDto(updateAccountDto, account);
 
         accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.UPDATED, accountId));
         log.debug("Account with ID: {} successfully updated in database", accountId);
 
         log.info("Update process completed for account with ID: {}", accountId);
@@ -1,19 +1,38 @@
 package io.vladprotchenko.authservice.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.vladprotchenko.authapi.dto.response.AccountDto;
+import io.vladprotchenko.authapi.event.AccountChangeType;
+import io.vladprotchenko.authservice.dto.AccountSearchFilter;
+import io.vladprotchenko.authservice.dto.BulkTarget;
 import io.vladprotchenko.authservice.dto.request.BlockUserRequest;
+import io.vladprotchenko.authservice.dto.request.BulkAccountRequest;
+import io.vladprotchenko.authservice.dto.request.BulkBlockRequest;
 import io.vladprotchenko.authservice.dto.request.UnblockUserRequest;
 import io.vladprotchenko.authservice.dto.request.UpdateAccountDto;
 import io.vladprotchenko.authservice.dto.request.UserSearchRequest;
+import io.vladprotchenko.authservice.dto.response.BulkActionResponse;
+import io.vladprotchenko.authservice.dto.response.BulkRejection;
+import io.vladprotchenko.authservice.dto.response.SearchCountResponse;
 import io.vladprotchenko.authservice.dto.response.UserListViewDto;
+import io.vladprotchenko.authservice.dto.response.UserListViewKeysetDto;
+import io.vladprotchenko.authservice.dto.response.UserSearchSliceResponse;
+import io.vladprotchenko.authservice.dto.response.UserTypeaheadDto;
 import io.vladprotchenko.authservice.model.Account;
+import io.vladprotchenko.authservice.model.event.AccountChangedEvent;
+import io.vladprotchenko.authservice.repository.AccountBulkRepository;
 import io.vladprotchenko.authservice.repository.AccountRepository;
+import io.vladprotchenko.authservice.util.SearchCursor;
+import io.vladprotchenko.authservice.util.SearchPatterns;
 import io.vladprotchenko.authservice.util.UserMapper;
 import io.vladprotchenko.ensstartercore.exception.custom.ForbiddenActionException;
 import io.vladprotchenko.ensstartercore.model.kafka.UserDeletionEvent;
 import io.vladprotchenko.ensstartercore.model.kafka.constant.KafkaConstants;
 import io.vladprotchenko.ensstartercore.security.dto.AdminDetailsDto;
+import io.vladprotchenko.ensstartercore.security.model.constant.UserRole;
 import io.vladprotchenko.ensstartercore.security.service.AuthenticationFacade;
+import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceContext;
@@ -21,16 +40,28 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.InvalidRequestException;
 import org.hibernate.Session;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -38,6 +69,9 @@ import java.util.UUID;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class AdminAccountManagementService {
 
+    static final long SEARCH_COUNT_CACHE_SIZE = 1_000;
+    static final Duration SEARCH_COUNT_TTL = Duration.ofSeconds(60);
+
     @PersistenceContext
     EntityManager entityManager;
 
@@ -45,8 +79,15 @@ public class AdminAccountManagementService {
     AuthService authService;
     AccountService accountService;
     AccountRepository accountRepository;
+    AccountBulkRepository accountBulkRepository;
     AuthenticationFacade authenticationFacade;
-    KafkaTemplate<String, UserDeletionEvent> kafkaTemplate;
+    AccountProfileCache accountProfileCache;
+    ObjectProvider<AccountSearchIndex> accountSearchIndex;
+    ApplicationEventPublisher eventPublisher;
+    OutboxService outboxService;
+
+    Cache<AccountSearchFilter, SearchCountResponse> searchCounts =
+        Caffeine.newBuilder().maximumSize(SEARCH_COUNT_CACHE_SIZE).expireAfterWrite(SEARCH_COUNT_TTL).build();
 
     @Transactional
     public AccountDto updateAccountByAdmin(UUID targetAccountId, UpdateAccountDto updateAccountDto) {
@@ -59,6 +100,7 @@ public class AdminAccountManagementService {
         userMapper.updateAccountFromDto(updateAccountDto, targetAccount);
 
         accountRepository.save(targetAccount);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.UPDATED, targetAccountId));
         log.debug("Account with ID: {} saved to db", targetAccountId);
 
         log.info("Account with ID: {} updated successfully", targetAccountId);
@@ -73,28 +115,68 @@ public class AdminAccountManagementService {
         var adminId = authenticationFacade.getAccountIdFromAuthentication();
         log.info("Getting account profile for user with ID: {} by Admin with ID: {}", accountId, adminId);
 
-        var user = accountService.findAccountByAccountId(accountId);
+        var profile = accountProfileCache.get(accountId);
         log.info("Successfully retrieved user profile for user with ID: {}", accountId);
-        return userMapper.userToClientDto(user);
+        return profile;
+    }
+
+    /**
+     * @return profiles of the given accounts in request order; unknown or deleted accounts are left out
+     */
+    public List<AccountDto> getUserProfilesByIds(List<UUID> accountIds) {
+        log.debug("Getting {} account profiles in batch", accountIds.size());
+        Map<UUID, AccountDto> profiles = accountProfileCache.getAll(accountIds);
+        return accountIds.stream().distinct().map(profiles::get).filter(Objects::nonNull).toList();
     }
 
-    public Page<UserListViewDto> searchAccounts(UserSearchRequest request, int page, int size) {
+    @Transactional(readOnly = true)
+    public Slice<UserListViewDto> searchAccounts(UserSearchRequest request, int page, int size) {
         log.debug("Searching through accounts with parameters");
         Pageable pageable = PageRequest.of(page, size);
+        Instant utcNow = Instant.now();
+
+        AccountSearchIndex searchIndex = accountSearchIndex.getIfAvailable();
+        if (searchIndex != null && searchIndex.isReady()) {
+            return searchIndex.search(request, utcNow, pageable);
+        }
 
         entityManager.unwrap(Session.class).disableFilter(Account.FILTER_ACTIVE);
 
-        Instant utcNow = Instant.now();
+        return accountRepository.searchUsers(AccountSearchFilter.of(request), utcNow, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public UserSearchSliceResponse searchAccountsByCursor(UserSearchRequest request, @Nullable String cursor, int size) {
+        log.debug("Searching through accounts with keyset pagination");
+        entityManager.unwrap(Session.class).disableFilter(Account.FILTER_ACTIVE);
+
+        AccountSearchFilter filter = AccountSearchFilter.of(request);
+        SearchCursor after = cursor != null ? SearchCursor.decode(cursor) : null;
+        Slice<UserListViewKeysetDto> slice = accountRepository.searchUsersKeyset(
+            filter, Instant.now(), after != null ? after.createdAt() : null, after != null ? after.id() : null, size);
 
-        return accountRepository.searchUsers(
-            request.getSearchText(),
-            request.isAdmins(),
-            request.isUsers(),
-//            request.isBlocked(),
-//            request.isDeleted(),
-//            utcNow,
-            pageable
-        );
+        List<UserListViewKeysetDto> rows = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            UserListViewKeysetDto last = rows.get(rows.size() - 1);
+            nextCursor = new SearchCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return new UserSearchSliceResponse(
+            rows.stream().map(UserListViewKeysetDto::toView).toList(), nextCursor, slice.hasNext());
+    }
+
+    @Transactional(readOnly = true)
+    public SearchCountResponse countAccounts(UserSearchRequest request) {
+        var key = AccountSearchFilter.of(request);
+
+        return searchCounts.get(key, this::loadSearchCount);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserTypeaheadDto> typeahead(String prefix, int limit) {
+        log.debug("Typeahead lookup through active accounts");
+        return accountRepository.findTypeaheadMatches(SearchPatterns.startsWith(prefix), Limit.of(limit));
     }
 
     @Transactional
@@ -110,6 +192,7 @@ public class AdminAccountManagementService {
         targetAccount.setBlockedUntil(request.getExpiresAt());
         targetAccount.setRefreshToken(null);
         accountRepository.save(targetAccount);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.BLOCKED, targetAccount.getAccountId()));
 
         log.debug("User with account: {} blocked successfully", targetAccount.getAccountId());
     }
@@ -126,6 +209,7 @@ public class AdminAccountManagementService {
 
         targetAccount.setBlockedUntil(null);
         accountRepository.save(targetAccount);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.UNBLOCKED, targetAccount.getAccountId()));
 
         log.debug("User with account: {} unblocked successfully", targetAccount.getAccountId());
     }
@@ -143,6 +227,7 @@ public class AdminAccountManagementService {
         targetAccount.setSoftDeleted(true);
         targetAccount.setRefreshToken(null);
         accountRepository.save(targetAccount);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.SOFT_DELETED, accountId));
 
         log.info("Account: {} deleted successfully with soft delete", accountId);
     }
@@ -166,15 +251,118 @@ public class AdminAccountManagementService {
         authService.validateUserModificationPermission(adminDetails, account);
 
         accountRepository.delete(account);
+        eventPublisher.publishEvent(AccountChangedEvent.of(AccountChangeType.HARD_DELETED, accountId));
 
         UserDeletionEvent event = new UserDeletionEvent(accountId, Instant.now());
-        log.info("Start- Sending {} to Kafka Topic", KafkaConstants.USER_DELETION_EVENTS);
-        kafkaTemplate.send(KafkaConstants.USER_DELETION_EVENTS, event);
-        log.info("End- Sending {} to Kafka Topic ", KafkaConstants.USER_DELETION_EVENTS);
+        outboxService.enqueue(KafkaConstants.USER_DELETION_EVENTS, accountId.toString(), event);
 
         log.debug("Account: {} deleted successfully with hard delete", accountId);
     }
 
+    @Transactional
+    public BulkActionResponse bulkBlock(BulkBlockRequest request) {
+        log.debug("Bulk blocking accounts until: {}", request.getExpiresAt());
+        return applyBulkAction(request, "block", AccountChangeType.BLOCKED, accountIds -> {
+            List<UUID> updated = accountBulkRepository.blockAccounts(accountIds, request.getExpiresAt());
+            accountBulkRepository.deleteRefreshTokens(updated);
+            return updated;
+        });
+    }
+
+    @Transactional
+    public BulkActionResponse bulkUnblock(BulkAccountRequest request) {
+        log.debug("Bulk unblocking accounts");
+        return applyBulkAction(request, "unblock", AccountChangeType.UNBLOCKED, accountBulkRepository::unblockAccounts);
+    }
+
+    @Transactional
+    public BulkActionResponse bulkSoftDelete(BulkAccountRequest request) {
+        log.debug("Bulk deleting accounts with soft delete");
+        return applyBulkAction(request, "soft delete", AccountChangeType.SOFT_DELETED, accountIds -> {
+            List<UUID> updated = accountBulkRepository.softDeleteAccounts(accountIds);
+            accountBulkRepository.deleteRefreshTokens(updated);
+            return updated;
+        });
+    }
+
+    /**
+     * Resolves targets and their roles with one query, applies the same checks as the single-account actions in
+     * memory, runs {@code update} once for every permitted account and reports the rest as rejections.
+     */
+    private BulkActionResponse applyBulkAction(
+        BulkAccountRequest request,
+        String action,
+        AccountChangeType changeType,
+        Function<List<UUID>, List<UUID>> update) {
+
+        AdminDetailsDto adminDetails = authenticationFacade.getAdminDetailsFromAuthentication();
+        UUID adminAccountId = adminDetails.getAccountId();
+
+        Set<UUID> requested;
+        List<BulkTarget> targets;
+        if (request.getAccountIds() != null) {
+            requested = new LinkedHashSet<>(request.getAccountIds());
+            targets = accountBulkRepository.findActiveTargets(requested);
+        } else {
+            targets = findBulkTargetsByFilter(request.getFilter());
+            requested = new LinkedHashSet<>(targets.stream().map(BulkTarget::accountId).toList());
+        }
+
+        List<BulkRejection> rejections = new ArrayList<>();
+        Set<UUID> found = new HashSet<>();
+        List<UUID> permitted = new ArrayList<>(targets.size());
+        for (BulkTarget target : targets) {
+            found.add(target.accountId());
+            if (target.accountId().equals(adminAccountId)) {
+                rejections.add(new BulkRejection(target.accountId(), String.format("You can't %s yourself", action)));
+            } else if (!adminDetails.isSuperAdmin() && target.role() != UserRole.USER) {
+                rejections.add(new BulkRejection(target.accountId(), "You can't edit this user"));
+            } else {
+                permitted.add(target.accountId());
+            }
+        }
+        for (UUID accountId : requested) {
+            if (!found.contains(accountId)) {
+                rejections.add(new BulkRejection(accountId, "Account not found"));
+            }
+        }
+
+        List<UUID> updated = update.apply(permitted);
+        if (updated.size() != permitted.size()) {
+            Set<UUID> updatedIds = new HashSet<>(updated);
+            permitted.stream()
+                .filter(accountId -> !updatedIds.contains(accountId))
+                .forEach(accountId -> rejections.add(new BulkRejection(accountId, "Account not found")));
+        }
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(new AccountChangedEvent(changeType, updated));
+        }
+
+        log.info("Bulk {} by admin with ID: {} finished. Requested: {}, updated: {}, rejected: {}",
+            action, adminAccountId, requested.size(), updated.size(), rejections.size());
+        return new BulkActionResponse(requested.size(), updated.size(), rejections);
+    }
+
+    private List<BulkTarget> findBulkTargetsByFilter(UserSearchRequest filter) {
+        List<BulkTarget> targets = accountRepository.findBulkTargets(
+            AccountSearchFilter.of(filter).withDeleted(false), Instant.now(), BulkAccountRequest.MAX_ACCOUNTS + 1);
+
+        if (targets.size() > BulkAccountRequest.MAX_ACCOUNTS) {
+            log.error("Bulk action filter matches more than {} accounts", BulkAccountRequest.MAX_ACCOUNTS);
+            throw new InvalidRequestException(String.format(
+                "Filter matches more than %d accounts. Narrow it down", BulkAccountRequest.MAX_ACCOUNTS));
+        }
+        return targets;
+    }
+
+    private SearchCountResponse loadSearchCount(AccountSearchFilter filter) {
+        log.debug("Counting accounts matching search parameters");
+        entityManager.unwrap(Session.class).disableFilter(Account.FILTER_ACTIVE);
+
+        long count = accountRepository.countUsers(filter, Instant.now());
+        return new SearchCountResponse(count, Instant.now());
+    }
+
     private void validateSelfModification(Account account, String action) {
         boolean isSelfModification = account.getAccountId().equals(authenticationFacade.getAccountIdFromAuthentication());
         if (isSelfModification) {
@@ -5,7 +5,6 @@ import io.vladprotchenko.authservice.dto.request.VerifyLoginOtpRequest;
 import io.vladprotchenko.authservice.dto.response.AuthResponse;
 import io.vladprotchenko.authservice.dto.response.TokensResponse;
 import io.vladprotchenko.authservice.model.Account;
-import io.vladprotchenko.authservice.model.RefreshToken;
 import io.vladprotchenko.authservice.model.constant.RedisKeyPrefix;
 import io.vladprotchenko.authservice.repository.AccountRepository;
 import io.vladprotchenko.authservice.repository.RefreshTokenRepository;
@@ -26,6 +25,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -49,6 +49,7 @@ public class AuthService {
     RefreshTokenRepository refreshTokenRepository;
     AccountRepository accountRepository;
     RedisService redisService;
+    TokenRevocationService tokenRevocationService;
 
     @Value("${app.jwtExpirationS}")
     Long jwtExpirationS;
@@ -78,10 +79,10 @@ public class AuthService {
         String newAccessToken = jwtTokenIssuer.generateAccessToken(account);
         log.debug("Access token generated successfully for account: {}", account.getEmail());
 
-        RefreshToken newRefreshToken = jwtTokenIssuer.createRefreshToken(account.getEmail());
+        String newRefreshToken = jwtTokenIssuer.createRefreshToken(account.getEmail());
 
         return AuthResponse.builder()
-                .tokens(new TokensResponse(newAccessToken, newRefreshToken.getToken(), jwtExpirationS, refreshTokenExpirationS))
+                .tokens(new TokensResponse(newAccessToken, newRefreshToken, jwtExpirationS, refreshTokenExpirationS))
                 .build();
     }
 
@@ -95,6 +96,9 @@ public class AuthService {
         log.info("Logout attempt for user: {}", userEmail);
         refreshTokenRepository.deleteRefreshTokenByAccountEmail(userEmail);
         log.debug(LOG_REFRESH_TOKEN_DELETED, userEmail);
+        accountRepository.findByEmail(userEmail)
+            .ifPresent(account -> tokenRevocationService.revokeAllAfterCommit(
+                List.of(account.getAccountId()), "logout"));
 
         log.info("Logout successful for user: {}", userEmail);
         return AuthResponse.builder().message(String.format("Logout successful for user %s", userEmail)).build();
@@ -1,16 +1,19 @@
 package io.vladprotchenko.authservice.service;
 
 import io.jsonwebtoken.Jwts;
+import io.vladprotchenko.authapi.security.CompactTokenClaims;
 import io.vladprotchenko.authservice.dto.response.TokensResponse;
 import io.vladprotchenko.authservice.model.Account;
 import io.vladprotchenko.authservice.model.Admin;
 import io.vladprotchenko.authservice.model.RefreshToken;
+import io.vladprotchenko.authservice.model.constant.TokenProfile;
 import io.vladprotchenko.authservice.model.User;
 import io.vladprotchenko.authservice.repository.AdminRepository;
 import io.vladprotchenko.authservice.repository.UserRepository;
 import io.vladprotchenko.ensstartercore.exception.EnsServiceException;
 import io.vladprotchenko.ensstartercore.exception.custom.AuthorizationException;
 import io.vladprotchenko.ensstartercore.exception.custom.UserBlockedException;
+import io.vladprotchenko.ensstartercore.security.model.constant.UserRole;
 import io.vladprotchenko.ensstartercore.security.service.JwtTokenValidator;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AccessLevel;
@@ -46,19 +49,13 @@ public class JwtTokenIssuer {
 
     @Value("${app.jwtExpirationS}") long jwtExpirationS;
     @Value("${app.refreshTokenExpirationS}") long refreshTokenExpirationS;
+    @Value("${app.jwt.profile}") TokenProfile tokenProfile;
 
     public String generateAccessToken(Account account) {
 
-        Map<String, Object> claims = new HashMap<>();
-
         var role = account.getRole().getName();
         UUID accountId = account.getAccountId();
-
-        claims.put(CLAIM_FIRST_NAME, account.getFirstName());
-        claims.put(CLAIM_ROLE, role);
-//        if (account.getOrganization().getName() != null) {
-//            claims.put(ORGANIZATION_NAME, account.getOrganization().getName());
-//        }
+        boolean isSuperAdmin = false;
 
         switch (role) {
             case USER:
@@ -75,14 +72,17 @@ public class JwtTokenIssuer {
                         log.error("Admin for account with ID: {} not found", account.getAccountId());
                         return new EntityNotFoundException("Admin not found");
                     });
-                claims.put(IS_SUPER_ADMIN_CLAIM, admin.isSuperAdmin());
+                isSuperAdmin = admin.isSuperAdmin();
                 break;
 
             default:
                 break;
         }
 
-        claims.put(CLAIM_ACCOUNT_ID, account.getAccountId());
+        Map<String, Object> claims = tokenProfile == TokenProfile.COMPACT
+            ? CompactTokenClaims.of(accountId, account.getFirstName(), role.name(), isSuperAdmin)
+            : standardClaims(account, isSuperAdmin);
+
         return Jwts.builder()
             .subject(account.getEmail())
             .claims(claims)
@@ -92,12 +92,26 @@ public class JwtTokenIssuer {
             .compact();
     }
 
+    private static Map<String, Object> standardClaims(Account account, boolean isSuperAdmin) {
+        Map<String, Object> claims = new HashMap<>();
+        var role = account.getRole().getName();
+        claims.put(CLAIM_FIRST_NAME, account.getFirstName());
+        claims.put(CLAIM_ROLE, role);
+//        if (account.getOrganization().getName() != null) {
+//            claims.put(ORGANIZATION_NAME, account.getOrganization().getName());
+//        }
+        if (role == UserRole.ADMIN) {
+            claims.put(IS_SUPER_ADMIN_CLAIM, isSuperAdmin);
+        }
+        claims.put(CLAIM_ACCOUNT_ID, account.getAccountId());
+        return claims;
+    }
+
     public TokensResponse refreshTokens(String refreshToken) {
 
         Account account;
         try {
-            RefreshToken storedRefreshtoken = refreshTokenService.findByToken(refreshToken);
-            refreshTokenService.verifyExpiration(storedRefreshtoken);
+            RefreshToken storedRefreshtoken = refreshTokenService.findValid(refreshToken);
 
             account = storedRefreshtoken.getAccount();
 
@@ -116,13 +130,13 @@ public class JwtTokenIssuer {
         String newAccessToken = generateAccessToken(account);
         log.debug("Access token refreshed successfully for account: {}", account.getEmail());
 
-        RefreshToken newRefreshToken = createRefreshToken(account.getEmail());
+        String newRefreshToken = createRefreshToken(account.getEmail());
 
         return new TokensResponse(
-            newAccessToken, newRefreshToken.getToken(), jwtExpirationS, refreshTokenExpirationS);
+            newAccessToken, newRefreshToken, jwtExpirationS, refreshTokenExpirationS);
     }
 
-    public RefreshToken createRefreshToken(String email) {
+    public String createRefreshToken(String email) {
         return refreshTokenService.createRefreshToken(email);
     }
 }
@@ -0,0 +1,166 @@
+package io.vladprotchenko.authservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vladprotchenko.authservice.dto.OutboxEvent;
+import io.vladprotchenko.authservice.repository.OutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes committed outbox events to Kafka.
+ *
+ * <p>Every node schedules the relay, but a batch is only taken by whoever holds a transaction-scoped advisory lock;
+ * the others skip the poll. Batches are therefore published one at a time in outbox order, which keeps events for
+ * the same key in order on the compacted topic. Each batch is sent without waiting per record and deleted only
+ * after every record in it is acknowledged; a failed batch stays in the table and is retried on the next poll, so
+ * delivery is at-least-once. The relay owns a dedicated compressed, idempotent producer that ships the stored payload
+ * bytes as-is (a {@code null} payload becomes a tombstone) with the {@code __TypeId__} header consumers using Spring's
+ * {@code JsonDeserializer} expect.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxRelay {
+
+    OutboxRepository outboxRepository;
+    TransactionTemplate transactionTemplate;
+    DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+    KafkaTemplate<String, byte[]> kafkaTemplate;
+    Timer deliveryLag;
+    Counter publishedEvents;
+    int batchSize;
+    long sendTimeoutSeconds;
+
+    public OutboxRelay(
+        OutboxRepository outboxRepository,
+        TransactionTemplate transactionTemplate,
+        KafkaProperties kafkaProperties,
+        MeterRegistry meterRegistry,
+        @Value("${app.outbox.batchSize}") int batchSize,
+        @Value("${app.outbox.sendTimeoutSeconds}") long sendTimeoutSeconds,
+        @Value("${app.outbox.compressionType}") String compressionType) {
+
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutSeconds = sendTimeoutSeconds;
+
+        Map<String, Object> producerProperties = kafkaProperties.buildProducerProperties(null);
+        producerProperties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        producerProperties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        producerProperties.put(ProducerConfig.ACKS_CONFIG, "all");
+        this.producerFactory = new DefaultKafkaProducerFactory<>(
+            producerProperties, new StringSerializer(), new ByteArraySerializer());
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+            .description("Time from outbox insert to Kafka acknowledgement")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        this.publishedEvents = Counter.builder("outbox.events.published")
+            .register(meterRegistry);
+        Gauge.builder("outbox.oldest.pending.age", this, OutboxRelay::oldestPendingAgeSeconds)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.pollIntervalMs}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = publishBatch();
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed, will retry. Details: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return number of events published, {@code 0} if another relay is publishing
+     */
+    public int publishBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!outboxRepository.tryLockRelay()) {
+                log.debug("Outbox relay lock is held by another node, skipping poll");
+                return 0;
+            }
+            List<OutboxEvent> events = outboxRepository.lockBatch(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            CompletableFuture<?>[] acks = events.stream().map(this::send).toArray(CompletableFuture[]::new);
+            awaitAcks(acks);
+            outboxRepository.delete(events.stream().map(OutboxEvent::id).toList());
+
+            Instant acknowledgedAt = Instant.now();
+            events.forEach(event -> deliveryLag.record(Duration.between(event.createdAt(), acknowledgedAt)));
+            publishedEvents.increment(events.size());
+
+            log.debug("Published {} outbox events", events.size());
+            return events.size();
+        });
+        return published == null ? 0 : published;
+    }
+
+    @PreDestroy
+    public void close() {
+        producerFactory.destroy();
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(event.topic(), event.key(), event.payload());
+        record.headers().add(
+            AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.eventType().getBytes(StandardCharsets.UTF_8));
+        return kafkaTemplate.send(record);
+    }
+
+    private void awaitAcks(CompletableFuture<?>[] acks) {
+        try {
+            CompletableFuture.allOf(acks).get(sendTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish outbox events", e);
+        }
+    }
+
+    private double oldestPendingAgeSeconds() {
+        try {
+            return outboxRepository.findOldestCreatedAt()
+                .map(createdAt -> Duration.between(createdAt, Instant.now()).toMillis() / 1000d)
+                .orElse(0d);
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.vladprotchenko.authservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vladprotchenko.authservice.dto.OutboxMessage;
+import io.vladprotchenko.authservice.repository.OutboxRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes Kafka events into the transactional outbox. Events become visible to {@link OutboxRelay} only if the
+ * surrounding transaction commits, so a rollback never reaches downstream services.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxService {
+
+    OutboxRepository outboxRepository;
+    ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String key, Object event) {
+        outboxRepository.insert(topic, List.of(toMessage(key, event)));
+        log.debug("Event: {} for key: {} added to outbox of topic: {}", event.getClass().getSimpleName(), key, topic);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(String topic, Map<String, ?> eventsByKey) {
+        if (eventsByKey.isEmpty()) {
+            return;
+        }
+        outboxRepository.insert(topic, eventsByKey.entrySet().stream()
+            .map(entry -> toMessage(entry.getKey(), entry.getValue()))
+            .toList());
+        log.debug("{} events added to outbox of topic: {}", eventsByKey.size(), topic);
+    }
+
+    /**
+     * Adds already encoded messages; a {@code null} payload is published as a tombstone.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueMessages(String topic, List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        outboxRepository.insert(topic, messages);
+        log.debug("{} messages added to outbox of topic: {}", messages.size(), topic);
+    }
+
+    private OutboxMessage toMessage(String key, Object event) {
+        try {
+            return new OutboxMessage(key, event.getClass().getName(), objectMapper.writeValueAsBytes(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Can't serialize outbox event " + event.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.vladprotchenko.authservice.service;
+
+import io.vladprotchenko.authservice.model.Account;
+import io.vladprotchenko.authservice.repository.AccountRepository;
+import io.vladprotchenko.authservice.util.HmacSigner;
+import io.vladprotchenko.ensstartercore.exception.custom.AuthorizationException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Stateless password-reset links.
+ *
+ * <p>The link carries {@code base64url(accountId, expiry) + "." + HMAC}, and the HMAC also covers the account's
+ * current password hash. Nothing is stored when a link is sent. Once the password has changed the signature no
+ * longer matches, so a link can be used only once. Redemption locks the account row before checking the signature,
+ * so of two concurrent redemptions the second waits for the first to commit and then fails against the new hash.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PasswordResetLinkService {
+
+    static final String SIGNATURE_PURPOSE = "password-reset";
+    static final int PAYLOAD_LENGTH = 24;
+    static final String TOKEN_PARAM = "token";
+
+    HmacSigner hmacSigner;
+    AccountRepository accountRepository;
+
+    @Value("${app.passwordReset.linkUrl}") String linkUrl;
+    @Value("${app.passwordReset.linkExpirationMinutes}") int linkExpirationMinutes;
+
+    public String createLink(Account account) {
+        Instant expiresAt = Instant.now().plus(linkExpirationMinutes, ChronoUnit.MINUTES);
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+            .putLong(account.getAccountId().getMostSignificantBits())
+            .putLong(account.getAccountId().getLeastSignificantBits())
+            .putLong(expiresAt.getEpochSecond())
+            .array();
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(payload)
+            + "." + hmacSigner.sign(SIGNATURE_PURPOSE, signedData(payload, account));
+
+        return UriComponentsBuilder.fromUriString(linkUrl)
+            .queryParam(TOKEN_PARAM, token)
+            .build()
+            .toUriString();
+    }
+
+    /**
+     * Resolves the account a reset token was issued for. Malformed and expired tokens are rejected before any lookup.
+     * The account row stays locked until the caller's transaction, which changes the password, ends.
+     *
+     * @throws AuthorizationException if the token is malformed, forged, expired or has already been used
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Account resolve(String token) {
+        int separator = token.indexOf('.');
+        byte[] payload = separator > 0 ? decode(token.substring(0, separator)) : null;
+        if (payload == null || payload.length != PAYLOAD_LENGTH) {
+            log.debug("Malformed password reset token");
+            throw invalidLink();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        UUID accountId = new UUID(buffer.getLong(), buffer.getLong());
+        Instant expiresAt = Instant.ofEpochSecond(buffer.getLong());
+        if (!expiresAt.isAfter(Instant.now())) {
+            log.debug("Password reset link for account {} expired at {}", accountId, expiresAt);
+            throw invalidLink();
+        }
+
+        String signature = token.substring(separator + 1);
+        return accountRepository.findByAccountIdForUpdate(accountId)
+            .filter(account -> hmacSigner.verify(SIGNATURE_PURPOSE, signedData(payload, account), signature))
+            .orElseThrow(() -> {
+                log.debug("Password reset token for account {} is forged or already used", accountId);
+                return invalidLink();
+            });
+    }
+
+    private static byte[] signedData(byte[] payload, Account account) {
+        byte[] passwordHash = account.getPasswordHash() != null
+            ? account.getPasswordHash().getBytes(StandardCharsets.UTF_8)
+            : new byte[0];
+        return ByteBuffer.allocate(payload.length + passwordHash.length).put(payload).put(passwordHash).array();
+    }
+
+    private static byte[] decode(String value) {
+        try {
+            return Base64.getUrlDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static AuthorizationException invalidLink() {
+        return new AuthorizationException(
+            "The password reset link is invalid or has expired. Please request a new one.");
+    }
+}
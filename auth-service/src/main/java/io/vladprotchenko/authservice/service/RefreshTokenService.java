@@ -4,6 +4,7 @@ import io.vladprotchenko.authservice.model.Account;
 import io.vladprotchenko.authservice.model.RefreshToken;
 import io.vladprotchenko.authservice.repository.AccountRepository;
 import io.vladprotchenko.authservice.repository.RefreshTokenRepository;
+import io.vladprotchenko.authservice.util.HmacSigner;
 import io.vladprotchenko.ensstartercore.exception.custom.AuthorizationException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -12,22 +13,51 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Issues and checks refresh tokens.
+ *
+ * <p>A refresh token is {@code base64url(accountId, tokenId, expiry) + "." + HMAC}. Only the tokenId is stored, and a
+ * login or refresh replaces it, which is the rotation state. Malformed, forged and expired tokens are rejected in
+ * memory, so only well-formed live tokens cost a database lookup. Plain UUID tokens issued before signing was
+ * introduced are still looked up while {@code app.refreshToken.acceptUnsigned} is on.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
+    static final String SIGNATURE_PURPOSE = "refresh-token";
+    static final int PAYLOAD_LENGTH = 40;
+
     private final RefreshTokenRepository refreshTokenRepository;
     private final AccountRepository accountRepository;
+    private final HmacSigner hmacSigner;
 
     @Value("${app.refreshTokenExpirationS}")
     private final int refreshTokenDurationS;
+    @Value("${app.refreshToken.acceptUnsigned}")
+    private final boolean acceptUnsigned;
+
+    /**
+     * Contents of a refresh token whose signature and expiry have been checked; unsigned tokens have no accountId.
+     */
+    public record VerifiedRefreshToken(UUID accountId, UUID tokenId, Instant expiresAt) {
+    }
 
+    /**
+     * Replaces the account's refresh token with a new one.
+     *
+     * @return the signed token to hand to the client
+     */
     @Transactional
-    public RefreshToken createRefreshToken(String email) {
+    public String createRefreshToken(String email) {
         log.debug("Creating refresh token for account: {}", email);
         Account account =
             accountRepository
@@ -40,13 +70,68 @@ public class RefreshTokenService {
 
         deleteTokenByAccountEmail(email);
 
+        UUID tokenId = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusSeconds(refreshTokenDurationS).truncatedTo(ChronoUnit.SECONDS);
+
         RefreshToken refreshToken = new RefreshToken();
         refreshToken.setAccount(account);
-        refreshToken.setToken(UUID.randomUUID().toString());
-        refreshToken.setExpiryDate(Instant.now().plusSeconds(refreshTokenDurationS));
+        refreshToken.setToken(tokenId.toString());
+        refreshToken.setExpiryDate(expiresAt);
 
-        refreshToken = refreshTokenRepository.save(refreshToken);
+        refreshTokenRepository.save(refreshToken);
         log.debug("Refresh token created for account {}", account.getEmail());
+        return sign(account.getAccountId(), tokenId, expiresAt);
+    }
+
+    /**
+     * Checks a token without any I/O.
+     *
+     * @return the token's contents, or empty if it is malformed, forged or expired
+     */
+    public Optional<VerifiedRefreshToken> verify(String token, Instant now) {
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            return acceptUnsigned ? parseUnsigned(token) : Optional.empty();
+        }
+
+        byte[] payload;
+        try {
+            payload = Base64.getUrlDecoder().decode(token.substring(0, separator));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (payload.length != PAYLOAD_LENGTH
+            || !hmacSigner.verify(SIGNATURE_PURPOSE, payload, token.substring(separator + 1))) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        UUID accountId = new UUID(buffer.getLong(), buffer.getLong());
+        UUID tokenId = new UUID(buffer.getLong(), buffer.getLong());
+        Instant expiresAt = Instant.ofEpochSecond(buffer.getLong());
+        if (!expiresAt.isAfter(now)) {
+            return Optional.empty();
+        }
+        return Optional.of(new VerifiedRefreshToken(accountId, tokenId, expiresAt));
+    }
+
+    /**
+     * Resolves the stored refresh token a client presented.
+     *
+     * @throws AuthorizationException if the token is invalid, expired or has already been rotated
+     */
+    public RefreshToken findValid(String token) {
+        VerifiedRefreshToken verified = verify(token, Instant.now())
+            .orElseThrow(() -> {
+                log.debug("Refresh token rejected without lookup");
+                return new AuthorizationException("Refresh token is invalid or expired.");
+            });
+
+        RefreshToken refreshToken = refreshTokenRepository.findByToken(verified.tokenId().toString())
+            .filter(stored -> verified.accountId() == null
+                || verified.accountId().equals(stored.getAccount().getAccountId()))
+            .orElseThrow(() -> new AuthorizationException("Refresh token has been rotated or revoked."));
+        verifyExpiration(refreshToken);
         return refreshToken;
     }
 
@@ -77,13 +162,23 @@ public class RefreshTokenService {
         log.debug("Deleted refresh token for user: {}", email);
     }
 
-    public RefreshToken findByToken(String token) {
-        log.debug("Searching for refresh token");
-        return refreshTokenRepository
-            .findByToken(token)
-            .orElseThrow(
-                () ->
-                    new EntityNotFoundException(
-                        "Refresh token not found for the provided value: " + token));
+    private String sign(UUID accountId, UUID tokenId, Instant expiresAt) {
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+            .putLong(accountId.getMostSignificantBits())
+            .putLong(accountId.getLeastSignificantBits())
+            .putLong(tokenId.getMostSignificantBits())
+            .putLong(tokenId.getLeastSignificantBits())
+            .putLong(expiresAt.getEpochSecond())
+            .array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload)
+            + "." + hmacSigner.sign(SIGNATURE_PURPOSE, payload);
+    }
+
+    private static Optional<VerifiedRefreshToken> parseUnsigned(String token) {
+        try {
+            return Optional.of(new VerifiedRefreshToken(null, UUID.fromString(token), null));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 }
@@ -0,0 +1,228 @@
+package io.vladprotchenko.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.vladprotchenko.authapi.security.CompactTokenClaims;
+import io.vladprotchenko.authservice.dto.TokenIntrospection;
+import io.vladprotchenko.authservice.dto.TokenIntrospection.TokenType;
+import io.vladprotchenko.authservice.model.Account;
+import io.vladprotchenko.authservice.model.RefreshToken;
+import io.vladprotchenko.authservice.repository.RefreshTokenRepository;
+import io.vladprotchenko.ensstartercore.security.service.JwtTokenValidator;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import static io.vladprotchenko.ensstartercore.security.model.constant.JwtConstants.CLAIM_ACCOUNT_ID;
+import static io.vladprotchenko.ensstartercore.security.model.constant.JwtConstants.CLAIM_FIRST_NAME;
+import static io.vladprotchenko.ensstartercore.security.model.constant.JwtConstants.CLAIM_ROLE;
+import static io.vladprotchenko.ensstartercore.security.model.constant.JwtConstants.IS_SUPER_ADMIN_CLAIM;
+
+/**
+ * Checks access and refresh tokens for callers that cannot verify them themselves.
+ *
+ * <p>Refresh tokens with a bad signature or past their expiry are answered without any I/O. A batch costs at most
+ * one database query for its remaining refresh tokens and one Redis pipeline for the revocation cut-offs of all
+ * accounts involved; access token signatures are checked in memory. Results are cached for
+ * {@code app.introspection.cacheTtlSeconds} under a SHA-256 of the token, so a revocation may take that long to show.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenIntrospectionService {
+
+    static final String CACHE_NAME = "token_introspections";
+
+    JwtParser jwtParser;
+    RefreshTokenRepository refreshTokenRepository;
+    RefreshTokenService refreshTokenService;
+    TokenRevocationService tokenRevocationService;
+    Cache<String, TokenIntrospection> cache;
+
+    public TokenIntrospectionService(
+        JwtTokenValidator jwtTokenValidator,
+        RefreshTokenRepository refreshTokenRepository,
+        RefreshTokenService refreshTokenService,
+        TokenRevocationService tokenRevocationService,
+        MeterRegistry meterRegistry,
+        @Value("${app.introspection.cacheMaximumSize}") long cacheMaximumSize,
+        @Value("${app.introspection.cacheTtlSeconds}") long cacheTtlSeconds) {
+
+        this.jwtParser = Jwts.parser().verifyWith((SecretKey) jwtTokenValidator.getSigningKey()).build();
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @return the token's claims, or {@link TokenIntrospection#INACTIVE} if it is malformed, forged, expired or revoked
+     */
+    public TokenIntrospection introspect(String token) {
+        return introspectAll(List.of(token)).getFirst();
+    }
+
+    /**
+     * @return one result per given token, in the same order
+     */
+    public List<TokenIntrospection> introspectAll(List<String> tokens) {
+        Instant now = Instant.now();
+        Map<String, TokenIntrospection> results = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+        for (String token : tokens) {
+            TokenIntrospection cached = cache.getIfPresent(hash(token));
+            if (cached != null) {
+                boolean expired = cached.active() && !cached.expiresAt().isAfter(now);
+                results.put(token, expired ? TokenIntrospection.INACTIVE : cached);
+            } else {
+                misses.add(token);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<String, TokenIntrospection> checked = check(misses, now);
+            checked.forEach((token, result) -> cache.put(hash(token), result));
+            results.putAll(checked);
+        }
+        return tokens.stream().map(results::get).toList();
+    }
+
+    private Map<String, TokenIntrospection> check(Set<String> tokens, Instant now) {
+        Map<String, TokenIntrospection> results = new HashMap<>();
+        Map<String, String> refreshTokensByStoredValue = new HashMap<>();
+        for (String token : tokens) {
+            if (isJwt(token)) {
+                results.put(token, parseAccessToken(token));
+                continue;
+            }
+            results.put(token, TokenIntrospection.INACTIVE);
+            refreshTokenService.verify(token, now)
+                .ifPresent(verified -> refreshTokensByStoredValue.put(verified.tokenId().toString(), token));
+        }
+
+        if (!refreshTokensByStoredValue.isEmpty()) {
+            for (RefreshToken refreshToken
+                : refreshTokenRepository.findAllWithAccountByTokenIn(refreshTokensByStoredValue.keySet())) {
+                String token = refreshTokensByStoredValue.get(refreshToken.getToken());
+                results.put(token, toIntrospection(refreshToken, now));
+            }
+        }
+
+        List<UUID> accountIds = results.values().stream()
+            .filter(TokenIntrospection::active)
+            .map(result -> parseAccountId(result.accountId()))
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        Map<UUID, Instant> revokedBefore = tokenRevocationService.findRevokedBefore(accountIds);
+        if (!revokedBefore.isEmpty()) {
+            results.replaceAll(
+                (token, result) -> isRevoked(result, revokedBefore) ? TokenIntrospection.INACTIVE : result);
+        }
+        return results;
+    }
+
+    private TokenIntrospection parseAccessToken(String token) {
+        Claims claims;
+        try {
+            claims = jwtParser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token rejected on introspection. Details: {}", e.getMessage());
+            return TokenIntrospection.INACTIVE;
+        }
+        boolean compact = CompactTokenClaims.isCompact(claims);
+        return new TokenIntrospection(
+            true,
+            TokenType.ACCESS,
+            compact ? CompactTokenClaims.accountId(claims) : claimAsString(claims, CLAIM_ACCOUNT_ID),
+            claims.getSubject(),
+            compact ? CompactTokenClaims.role(claims) : claimAsString(claims, CLAIM_ROLE),
+            compact ? CompactTokenClaims.firstName(claims) : claimAsString(claims, CLAIM_FIRST_NAME),
+            compact
+                ? CompactTokenClaims.superAdmin(claims)
+                : Boolean.TRUE.equals(claims.get(IS_SUPER_ADMIN_CLAIM, Boolean.class)),
+            claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+            claims.getExpiration().toInstant());
+    }
+
+    private static TokenIntrospection toIntrospection(RefreshToken refreshToken, Instant now) {
+        Account account = refreshToken.getAccount();
+        boolean blocked = account.getBlockedUntil() != null && account.getBlockedUntil().isAfter(now);
+        if (!refreshToken.getExpiryDate().isAfter(now) || blocked || account.isSoftDeleted()) {
+            return TokenIntrospection.INACTIVE;
+        }
+        return new TokenIntrospection(
+            true,
+            TokenType.REFRESH,
+            account.getAccountId().toString(),
+            account.getEmail(),
+            account.getRole().getName().name(),
+            account.getFirstName(),
+            false,
+            refreshToken.getCreatedAt(),
+            refreshToken.getExpiryDate());
+    }
+
+    private static boolean isRevoked(TokenIntrospection result, Map<UUID, Instant> revokedBefore) {
+        if (!result.active() || result.issuedAt() == null) {
+            return false;
+        }
+        Instant cutOff = revokedBefore.get(parseAccountId(result.accountId()));
+        return cutOff != null && result.issuedAt().isBefore(cutOff);
+    }
+
+    private static boolean isJwt(String token) {
+        return token.chars().filter(c -> c == '.').count() == 2;
+    }
+
+    private static UUID parseAccountId(String accountId) {
+        try {
+            return accountId != null ? UUID.fromString(accountId) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String claimAsString(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package io.vladprotchenko.authservice.service;
+
+import io.vladprotchenko.authapi.event.AccountChangeType;
+import io.vladprotchenko.authservice.model.constant.RedisKeyPrefix;
+import io.vladprotchenko.authservice.model.event.AccountChangedEvent;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps, per account, the instant before which all issued tokens count as revoked.
+ *
+ * <p>Access tokens are stateless, so revoking them means remembering a cut-off until the last token issued before it
+ * has expired; the Redis key lives exactly {@code app.jwtExpirationS}. The cut-off moves on logout, on password
+ * changes and resets, and whenever an account is blocked, deleted or changes its email.
+ *
+ * <p>Cut-offs have whole-second precision, like the {@code iat} claim they are compared with. Only tokens issued in an
+ * earlier second count as revoked, so a login right after a logout is not rejected.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenRevocationService {
+
+    static final Set<AccountChangeType> REVOKING_CHANGES = EnumSet.of(
+        AccountChangeType.BLOCKED,
+        AccountChangeType.SOFT_DELETED,
+        AccountChangeType.HARD_DELETED,
+        AccountChangeType.EMAIL_CHANGED);
+
+    RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${app.jwtExpirationS}")
+    long jwtExpirationS;
+
+    public void revokeAll(Collection<UUID> accountIds) {
+        byte[] cutOff = String.valueOf(Instant.now().getEpochSecond()).getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (UUID accountId : accountIds) {
+                connection.stringCommands().set(
+                    key(accountId), cutOff, Expiration.seconds(jwtExpirationS), RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        });
+        log.debug("Tokens of {} accounts revoked", accountIds.size());
+    }
+
+    /**
+     * Reads the cut-offs of many accounts in one pipelined round trip.
+     *
+     * @return cut-off per account; accounts without revoked tokens are absent
+     */
+    public Map<UUID, Instant> findRevokedBefore(List<UUID> accountIds) {
+        Map<UUID, Instant> revokedBefore = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return revokedBefore;
+        }
+        List<Object> cutOffs = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            accountIds.forEach(accountId -> connection.stringCommands().get(key(accountId)));
+            return null;
+        }, RedisSerializer.string());
+        for (int i = 0; i < accountIds.size(); i++) {
+            if (cutOffs.get(i) instanceof String cutOff) {
+                revokedBefore.put(accountIds.get(i), Instant.ofEpochSecond(Long.parseLong(cutOff)));
+            }
+        }
+        return revokedBefore;
+    }
+
+    /**
+     * Revokes once the surrounding transaction has committed, so a rolled-back change revokes nothing and a login
+     * racing the commit still sees the old state; without a transaction it revokes right away.
+     */
+    public void revokeAllAfterCommit(Collection<UUID> accountIds, String reason) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            revokeQuietly(accountIds, reason);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revokeQuietly(accountIds, reason);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (REVOKING_CHANGES.contains(event.type())) {
+            revokeQuietly(event.accountIds(), event.type().name());
+        }
+    }
+
+    private void revokeQuietly(Collection<UUID> accountIds, String reason) {
+        try {
+            revokeAll(accountIds);
+        } catch (RuntimeException e) {
+            log.warn("Failed to revoke tokens of {} accounts after change: {}. Details: {}",
+                accountIds.size(), reason, e.getMessage());
+        }
+    }
+
+    private static byte[] key(UUID accountId) {
+        return (RedisKeyPrefix.TOKENS_REVOKED_BEFORE.getPrefix() + accountId).getBytes(StandardCharsets.UTF_8);
+    }
+}
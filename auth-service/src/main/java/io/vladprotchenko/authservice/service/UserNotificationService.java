@@ -20,6 +20,7 @@ public class UserNotificationService {
     static final String OTP = "otp";
     static final String VERIFICATION_EMAIL_TEMPLATE = "verification-email.html";
     static final String PASSWORD_RESET_REQUEST_EMAIL_TEMPLATE = "password-reset-request-email.html";
+    static final String PASSWORD_RESET_LINK_EMAIL_TEMPLATE = "password-reset-link-email.html";
 
     EmailService emailService;
 
@@ -45,4 +46,15 @@ public class UserNotificationService {
         emailService.sendEmail(to, subject, content, true);
 
     }
-}
\ No newline at end of file
+
+    public void sendPasswordResetLinkEmail(String to, String subject, String resetLink) throws MessagingException {
+        log.debug("Sending password reset link with subject '{}' to: {}", subject, to);
+
+        String template = emailService.loadEmailTemplate(PASSWORD_RESET_LINK_EMAIL_TEMPLATE);
+        Map<String, String> replacements = new HashMap<>();
+        replacements.put("reset_link", resetLink);
+        String content = emailService.populateTemplate(template, replacements);
+
+        emailService.sendEmail(to, subject, content, true);
+    }
+}
@@ -0,0 +1,36 @@
+package io.vladprotchenko.authservice.util;
+
+import org.apache.kafka.common.errors.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor over {@code (change_xid, change_seq)} for the account change feed.
+ */
+public record ChangeCursor(long xid, long seq) {
+
+    public static final ChangeCursor START = new ChangeCursor(0, 0);
+
+    static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = xid + SEPARATOR + seq;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new ChangeCursor(
+                Long.parseLong(raw.substring(0, separatorIndex)),
+                Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidRequestException("Invalid change cursor");
+        }
+    }
+}
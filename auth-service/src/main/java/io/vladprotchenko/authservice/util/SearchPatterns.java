@@ -0,0 +1,66 @@
+package io.vladprotchenko.authservice.util;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Builds {@code LIKE} patterns for account search queries.
+ *
+ * <p>Patterns are lower-cased to match the {@code lower(column)} expression indexes and use {@link #ESCAPE_CHAR}
+ * to neutralise wildcards typed by the user.
+ */
+public final class SearchPatterns {
+
+    public static final char ESCAPE_CHAR = '!';
+
+    static final Pattern PHONE_LIKE = Pattern.compile("^[+\\d\\s().-]+$");
+    static final Pattern NON_DIGITS = Pattern.compile("\\D");
+
+    private SearchPatterns() {
+    }
+
+    public static String contains(String searchText) {
+        String normalized = normalize(searchText);
+        return normalized == null ? null : "%" + escape(normalized) + "%";
+    }
+
+    public static String startsWith(String searchText) {
+        String normalized = normalize(searchText);
+        return normalized == null ? null : escape(normalized) + "%";
+    }
+
+    /**
+     * Returns a {@code LIKE} pattern over the digits-only phone column, or {@code null} if the search text
+     * does not look like a phone number.
+     */
+    public static String phoneDigitsContains(String searchText) {
+        String digits = phoneDigits(searchText);
+        return digits == null ? null : "%" + digits + "%";
+    }
+
+    /**
+     * Returns the digits of the search text, or {@code null} if it does not look like a phone number.
+     */
+    public static String phoneDigits(String searchText) {
+        if (searchText == null || !PHONE_LIKE.matcher(searchText.strip()).matches()) {
+            return null;
+        }
+        String digits = NON_DIGITS.matcher(searchText).replaceAll("");
+        return digits.isEmpty() ? null : digits;
+    }
+
+    public static String normalize(String searchText) {
+        if (searchText == null || searchText.isBlank()) {
+            return null;
+        }
+        return searchText.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static String escape(String value) {
+        String escape = String.valueOf(ESCAPE_CHAR);
+        return value
+            .replace(escape, escape + escape)
+            .replace("%", escape + "%")
+            .replace("_", escape + "_");
+    }
+}
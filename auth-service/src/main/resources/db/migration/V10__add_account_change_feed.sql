@@ -0,0 +1,95 @@
+CREATE SEQUENCE IF NOT EXISTS account_change_seq;
+
+ALTER TABLE accounts
+    ADD COLUMN IF NOT EXISTS change_seq BIGINT,
+    ADD COLUMN IF NOT EXISTS change_xid XID8;
+
+ALTER TABLE accounts
+    ALTER COLUMN change_seq SET DEFAULT nextval('account_change_seq'),
+    ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id();
+
+CREATE OR REPLACE FUNCTION touch_account_change() RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.change_seq := nextval('account_change_seq');
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tr_accounts_touch_change ON accounts;
+
+CREATE TRIGGER tr_accounts_touch_change
+    BEFORE UPDATE ON accounts
+    FOR EACH ROW
+    WHEN (OLD.* IS DISTINCT FROM NEW.*)
+EXECUTE FUNCTION touch_account_change();
+
+DO
+$$
+DECLARE
+    batch_size  CONSTANT BIGINT := 10000;
+    batch_start BIGINT;
+    last_id     BIGINT;
+BEGIN
+    SELECT coalesce(min(id), 0), coalesce(max(id), 0) INTO batch_start, last_id FROM accounts;
+    WHILE batch_start <= last_id
+        LOOP
+            UPDATE accounts
+            SET change_seq = nextval('account_change_seq'),
+                change_xid = pg_current_xact_id()
+            WHERE id >= batch_start
+              AND id < batch_start + batch_size
+              AND change_seq IS NULL;
+            COMMIT;
+            batch_start := batch_start + batch_size;
+        END LOOP;
+END
+$$;
+
+ALTER TABLE accounts
+    DROP CONSTRAINT IF EXISTS ck_accounts_change_cursor_not_null;
+
+ALTER TABLE accounts
+    ADD CONSTRAINT ck_accounts_change_cursor_not_null
+        CHECK (change_seq IS NOT NULL AND change_xid IS NOT NULL) NOT VALID;
+
+ALTER TABLE accounts
+    VALIDATE CONSTRAINT ck_accounts_change_cursor_not_null;
+
+ALTER TABLE accounts
+    ALTER COLUMN change_seq SET NOT NULL,
+    ALTER COLUMN change_xid SET NOT NULL;
+
+ALTER TABLE accounts
+    DROP CONSTRAINT ck_accounts_change_cursor_not_null;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_accounts_change_cursor ON accounts (change_xid, change_seq);
+
+CREATE TABLE IF NOT EXISTS account_deletions
+(
+    account_id UUID PRIMARY KEY,
+    change_seq BIGINT    NOT NULL DEFAULT nextval('account_change_seq'),
+    change_xid XID8      NOT NULL DEFAULT pg_current_xact_id(),
+    deleted_at TIMESTAMP NOT NULL DEFAULT (now() AT TIME ZONE 'UTC')
+);
+
+CREATE INDEX IF NOT EXISTS ix_account_deletions_change_cursor ON account_deletions (change_xid, change_seq);
+
+CREATE OR REPLACE FUNCTION record_account_deletions() RETURNS TRIGGER AS
+$$
+BEGIN
+    INSERT INTO account_deletions (account_id)
+    SELECT account_id FROM deleted_accounts
+    ON CONFLICT (account_id) DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tr_accounts_record_deletions ON accounts;
+
+CREATE TRIGGER tr_accounts_record_deletions
+    AFTER DELETE ON accounts
+    REFERENCING OLD TABLE AS deleted_accounts
+    FOR EACH STATEMENT
+EXECUTE FUNCTION record_account_deletions();
@@ -0,0 +1,27 @@
+-- Emails that differ only in case would make the unique index below fail with an opaque error. Fail first and list
+-- them instead; merge or rename those accounts, then rerun the migration.
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(format('%s (account ids: %s)', email_lower, ids), '; ')
+    INTO duplicates
+    FROM (SELECT lower(email) AS email_lower, string_agg(account_id::text, ', ' ORDER BY id) AS ids
+          FROM accounts
+          GROUP BY lower(email)
+          HAVING count(*) > 1) AS duplicate_emails;
+
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Cannot create ux_accounts_email_lower, accounts with case-variant duplicate emails: %',
+            duplicates;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_accounts_email_lower ON accounts (lower(email));
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_accounts_account_id ON accounts (account_id);
+
+-- Matches the Account.FILTER_ACTIVE condition that Hibernate appends to every account query
+CREATE INDEX IF NOT EXISTS ix_accounts_email_lower_active ON accounts (lower(email)) WHERE is_soft_deleted = 'false';
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_refresh_tokens_token ON refresh_tokens (token);
@@ -0,0 +1,13 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE accounts
+    ADD COLUMN IF NOT EXISTS phone_digits TEXT
+        GENERATED ALWAYS AS (regexp_replace(phone_number, '[^0-9]', '', 'g')) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_accounts_email_trgm ON accounts USING gin (lower(email) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_accounts_first_name_trgm ON accounts USING gin (lower(first_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_accounts_last_name_trgm ON accounts USING gin (lower(last_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_accounts_phone_digits_trgm ON accounts USING gin (phone_digits gin_trgm_ops);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS ix_accounts_created_at_id ON accounts (created_at DESC, id DESC);
@@ -0,0 +1,10 @@
+-- Prefix lookups for the admin typeahead: lower(col) LIKE 'abc%' over active accounts.
+-- text_pattern_ops makes the btree usable for LIKE prefixes regardless of the database collation.
+CREATE INDEX IF NOT EXISTS ix_accounts_email_prefix
+    ON accounts (lower(email) text_pattern_ops) WHERE is_soft_deleted = 'false';
+
+CREATE INDEX IF NOT EXISTS ix_accounts_first_name_prefix
+    ON accounts (lower(first_name) text_pattern_ops) WHERE is_soft_deleted = 'false';
+
+CREATE INDEX IF NOT EXISTS ix_accounts_last_name_prefix
+    ON accounts (lower(last_name) text_pattern_ops) WHERE is_soft_deleted = 'false';
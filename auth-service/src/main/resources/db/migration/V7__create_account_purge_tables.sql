@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS account_purge_jobs
+(
+    id           BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    status       VARCHAR(20) NOT NULL,
+    requested_by UUID        NOT NULL,
+    total        INT         NOT NULL,
+    created_at   TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at   TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS account_purge_items
+(
+    job_id        BIGINT    NOT NULL,
+    account_id    UUID      NOT NULL,
+    deleted_at    TIMESTAMP,
+    event_sent_at TIMESTAMP,
+    PRIMARY KEY (job_id, account_id),
+    CONSTRAINT fk_purge_item_job FOREIGN KEY (job_id) REFERENCES account_purge_jobs (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS ix_account_purge_items_pending
+    ON account_purge_items (job_id) WHERE event_sent_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_account_purge_jobs_active
+    ON account_purge_jobs (id) WHERE status <> 'COMPLETED';
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS outbox_events
+(
+    id          BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    topic       VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    event_type  VARCHAR(255) NOT NULL,
+    payload     BYTEA        NOT NULL,
+    created_at  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
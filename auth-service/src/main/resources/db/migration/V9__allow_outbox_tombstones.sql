@@ -0,0 +1,2 @@
+ALTER TABLE outbox_events
+    ALTER COLUMN payload DROP NOT NULL;
@@ -0,0 +1,103 @@
+package io.vladprotchenko.authservice.grpc;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import io.vladprotchenko.authservice.dto.TokenIntrospection;
+import io.vladprotchenko.authservice.dto.TokenIntrospection.TokenType;
+import io.vladprotchenko.authservice.service.TokenIntrospectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BearerTokenServerInterceptorTest {
+
+    TokenIntrospectionService tokenIntrospectionService;
+    BearerTokenServerInterceptor interceptor;
+    ServerCall<Object, Object> call;
+    ServerCallHandler<Object, Object> next;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        tokenIntrospectionService = mock(TokenIntrospectionService.class);
+        interceptor = new BearerTokenServerInterceptor(tokenIntrospectionService);
+        call = mock(ServerCall.class);
+        next = mock(ServerCallHandler.class);
+    }
+
+    @Test
+    void admitsAdminAccessToken() {
+        when(tokenIntrospectionService.introspect("access")).thenReturn(introspection(TokenType.ACCESS, "ADMIN"));
+
+        interceptor.interceptCall(call, bearer("access"), next);
+
+        verify(next).startCall(any(), any());
+        verify(call, never()).close(any(), any());
+    }
+
+    @Test
+    void rejectsAdminRefreshTokenAsUnauthenticated() {
+        when(tokenIntrospectionService.introspect("refresh")).thenReturn(introspection(TokenType.REFRESH, "ADMIN"));
+
+        interceptor.interceptCall(call, bearer("refresh"), next);
+
+        assertThat(closedWith()).isEqualTo(Status.Code.UNAUTHENTICATED);
+        verify(next, never()).startCall(any(), any());
+    }
+
+    @Test
+    void rejectsNonAdminAccessTokenAsPermissionDenied() {
+        when(tokenIntrospectionService.introspect("access")).thenReturn(introspection(TokenType.ACCESS, "USER"));
+
+        interceptor.interceptCall(call, bearer("access"), next);
+
+        assertThat(closedWith()).isEqualTo(Status.Code.PERMISSION_DENIED);
+        verify(next, never()).startCall(any(), any());
+    }
+
+    @Test
+    void rejectsInactiveAndMissingTokens() {
+        when(tokenIntrospectionService.introspect("expired")).thenReturn(TokenIntrospection.INACTIVE);
+
+        interceptor.interceptCall(call, bearer("expired"), next);
+        interceptor.interceptCall(call, new Metadata(), next);
+
+        ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        verify(call, times(2)).close(status.capture(), any());
+        assertThat(status.getAllValues()).extracting(Status::getCode)
+            .containsOnly(Status.Code.UNAUTHENTICATED);
+        verify(next, never()).startCall(any(), any());
+    }
+
+    private Status.Code closedWith() {
+        ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        verify(call).close(status.capture(), any());
+        return status.getValue().getCode();
+    }
+
+    private static Metadata bearer(String token) {
+        Metadata headers = new Metadata();
+        headers.put(BearerTokenServerInterceptor.AUTHORIZATION, BearerTokenServerInterceptor.BEARER_PREFIX + token);
+        return headers;
+    }
+
+    private static TokenIntrospection introspection(TokenType tokenType, String role) {
+        Instant now = Instant.now();
+        return new TokenIntrospection(
+            true, tokenType, UUID.randomUUID().toString(), "jane.doe@example.com", role, "Jane", false,
+            now, now.plusSeconds(600));
+    }
+}
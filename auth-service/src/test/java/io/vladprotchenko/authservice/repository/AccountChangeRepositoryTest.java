@@ -0,0 +1,123 @@
+package io.vladprotchenko.authservice.repository;
+
+import io.vladprotchenko.authapi.dto.response.AccountChangeDto;
+import io.vladprotchenko.authservice.repository.AccountChangeRepository.ChangeRow;
+import io.vladprotchenko.authservice.util.ChangeCursor;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountChangeRepositoryTest {
+
+    static EmbeddedPostgres postgres;
+    static DataSource dataSource;
+    static JdbcTemplate jdbcTemplate;
+    static AccountChangeRepository accountChangeRepository;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        accountChangeRepository = new AccountChangeRepository(jdbcTemplate);
+        jdbcTemplate.execute("""
+            INSERT INTO accounts (account_id, email, first_name, last_name, role_id)
+            SELECT gen_random_uuid(), 'feed' || i || '@example.com', 'First' || i, 'Last' || i, 2
+            FROM generate_series(1, 5) AS i
+            """);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void changeFeedMigrationBackfillsExistingAccountsInBatches() throws IOException {
+        try (EmbeddedPostgres existing = EmbeddedPostgres.start()) {
+            DataSource existingDataSource = existing.getPostgresDatabase();
+            Flyway.configure().dataSource(existingDataSource).locations("classpath:db/migration").target("9").load()
+                .migrate();
+            JdbcTemplate existingJdbc = new JdbcTemplate(existingDataSource);
+            existingJdbc.execute("""
+                INSERT INTO accounts (account_id, email, role_id)
+                SELECT gen_random_uuid(), 'existing' || i || '@example.com', 2
+                FROM generate_series(1, 25000) AS i
+                """);
+
+            Flyway.configure().dataSource(existingDataSource).locations("classpath:db/migration").load().migrate();
+
+            assertThat(existingJdbc.queryForObject(
+                "SELECT count(DISTINCT change_seq) FROM accounts WHERE change_xid IS NOT NULL", Long.class))
+                .isEqualTo(25_000);
+            assertThat(existingJdbc.queryForList("""
+                SELECT is_nullable FROM information_schema.columns
+                WHERE table_name = 'accounts' AND column_name IN ('change_seq', 'change_xid')
+                """, String.class)).hasSize(2).containsOnly("NO");
+            assertThat(existingJdbc.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE conname = 'ck_accounts_change_cursor_not_null'", Long.class))
+                .isZero();
+            assertThat(existingJdbc.queryForObject(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = 'ix_accounts_change_cursor'::regclass",
+                Boolean.class))
+                .isTrue();
+        }
+    }
+
+    @Test
+    void returnsUpdatesAndDeletionsAfterCursorInChangeOrder() {
+        List<ChangeRow> initial = accountChangeRepository.findChanges(ChangeCursor.START, 100);
+        assertThat(initial).hasSize(5);
+        ChangeCursor cursor = initial.getLast().cursor();
+
+        assertThat(accountChangeRepository.findChanges(cursor, 100)).isEmpty();
+
+        jdbcTemplate.update("UPDATE accounts SET first_name = 'Renamed' WHERE email = 'feed2@example.com'");
+        jdbcTemplate.update("UPDATE accounts SET is_soft_deleted = true WHERE email = 'feed3@example.com'");
+        jdbcTemplate.update("DELETE FROM accounts WHERE email = 'feed4@example.com'");
+
+        List<AccountChangeDto> changes = accountChangeRepository.findChanges(cursor, 100).stream()
+            .map(ChangeRow::change)
+            .toList();
+
+        assertThat(changes).hasSize(3);
+        assertThat(changes.get(0).getAccount().getFirstName()).isEqualTo("Renamed");
+        assertThat(changes.get(1).isDeleted()).isTrue();
+        assertThat(changes.get(2).isDeleted()).isTrue();
+        assertThat(changes.get(2).getAccount()).isNull();
+    }
+
+    @Test
+    void hidesChangesOfTransactionsStillInFlight() throws SQLException {
+        List<ChangeRow> before = accountChangeRepository.findChanges(ChangeCursor.START, 1_000);
+        ChangeCursor cursor = before.getLast().cursor();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.createStatement().executeUpdate(
+                "UPDATE accounts SET last_name = 'Pending' WHERE email = 'feed1@example.com'");
+
+            jdbcTemplate.update("UPDATE accounts SET last_name = 'Committed' WHERE email = 'feed5@example.com'");
+            assertThat(accountChangeRepository.findChanges(cursor, 100)).isEmpty();
+
+            connection.commit();
+        }
+
+        assertThat(accountChangeRepository.findChanges(cursor, 100))
+            .extracting(row -> row.change().getAccount().getLastName())
+            .containsExactly("Pending", "Committed");
+    }
+}
@@ -0,0 +1,295 @@
+package io.vladprotchenko.authservice.repository;
+
+import io.vladprotchenko.authservice.dto.AccountSearchFilter;
+import io.vladprotchenko.authservice.util.SearchPatterns;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts via {@code EXPLAIN} that the hot repository lookups are served by an index.
+ *
+ * <p>Each case calls the repository method and explains the statements Hibernate actually sent, captured with a
+ * {@link StatementInspector}. They are explained as prepared statements under {@code force_generic_plan}, the plan
+ * Postgres settles on once a statement has run a few times with bind parameters.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AccountLookupIndexTest {
+
+    static final int SEEDED_ACCOUNTS = 20_000;
+    static final String SAMPLE_EMAIL = "User42@Example.com";
+    static final List<String> ISSUED_STATEMENTS = new CopyOnWriteArrayList<>();
+
+    static EmbeddedPostgres postgres;
+    static DataSource dataSource;
+    static UUID sampleAccountId;
+    static String sampleToken;
+
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    AdminRepository adminRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector() {
+            StatementInspector inspector = sql -> {
+                ISSUED_STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        startDatabase();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.flyway.enabled", () -> "false");
+    }
+
+    static void startDatabase() {
+        if (postgres != null) {
+            return;
+        }
+        try {
+            postgres = EmbeddedPostgres.start();
+            dataSource = postgres.getPostgresDatabase();
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+            seed();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void seed() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                INSERT INTO accounts (account_id, email, first_name, last_name, phone_number, role_id)
+                SELECT gen_random_uuid(), 'user' || i || '@example.com', 'First' || i, 'Last' || i,
+                       '+37544' || lpad(i::text, 7, '0'), CASE WHEN i % 10 = 0 THEN 1 ELSE 2 END
+                FROM generate_series(1, %d) AS i
+                """.formatted(SEEDED_ACCOUNTS));
+            statement.execute("INSERT INTO admins (account_id) SELECT id FROM accounts WHERE role_id = 1");
+            statement.execute("INSERT INTO users (account_id) SELECT id FROM accounts WHERE role_id = 2");
+            statement.execute("""
+                INSERT INTO refresh_tokens (token, expiry_date, account_id)
+                SELECT gen_random_uuid()::text, now() + interval '7 days', id FROM accounts
+                """);
+            statement.execute("ANALYZE");
+
+            try (ResultSet resultSet = statement.executeQuery("""
+                SELECT a.account_id, rt.token FROM accounts a JOIN refresh_tokens rt ON rt.account_id = a.id
+                WHERE a.email = 'user42@example.com'
+                """)) {
+                resultSet.next();
+                sampleAccountId = resultSet.getObject(1, UUID.class);
+                sampleToken = resultSet.getString(2);
+            }
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+        postgres = null;
+    }
+
+    @Test
+    void findByEmailUsesLowerEmailIndex() throws SQLException {
+        String plan = explainIssued(() -> accountRepository.findByEmail(SAMPLE_EMAIL));
+
+        assertIndexScanOnAccounts(plan);
+        assertThat(plan).containsAnyOf("ux_accounts_email_lower", "ix_accounts_email_lower_active");
+    }
+
+    @Test
+    void findByAccountIdUsesAccountIdIndex() throws SQLException {
+        String plan = explainIssued(() -> accountRepository.findByAccountId(sampleAccountId));
+
+        assertIndexScanOnAccounts(plan);
+        assertThat(plan).contains("ux_accounts_account_id");
+    }
+
+    @Test
+    void deleteRefreshTokenByAccountEmailUsesIndexes() throws SQLException {
+        String plan = explainIssued(() -> refreshTokenRepository.deleteRefreshTokenByAccountEmail(SAMPLE_EMAIL));
+
+        assertIndexScanOnAccounts(plan);
+        assertThat(plan).doesNotContain("Seq Scan on refresh_tokens");
+    }
+
+    @Test
+    void findRefreshTokenByTokenUsesTokenIndex() throws SQLException {
+        String plan = explainIssued(() -> refreshTokenRepository.findByToken(sampleToken));
+
+        assertThat(plan).contains("ux_refresh_tokens_token").doesNotContain("Seq Scan on refresh_tokens");
+    }
+
+    @Test
+    void findAdminByAccountIdUsesIndexes() throws SQLException {
+        String plan = explainIssued(() -> adminRepository.findByAccountId(sampleAccountId));
+
+        assertIndexScanOnAccounts(plan);
+        assertThat(plan).contains("ux_accounts_account_id").doesNotContain("Seq Scan on admins");
+    }
+
+    @Test
+    void findUserByAccountIdUsesIndexes() throws SQLException {
+        String plan = explainIssued(() -> userRepository.findByAccountId(sampleAccountId));
+
+        assertIndexScanOnAccounts(plan);
+        assertThat(plan).contains("ux_accounts_account_id").doesNotContain("Seq Scan on users");
+    }
+
+    @Test
+    void countByTextUsesTrigramIndexes() throws SQLException {
+        var filter = new AccountSearchFilter(
+            SearchPatterns.contains("User12345@"), null, false, true, false, false);
+        String plan = explainIssued(() -> accountRepository.countUsers(filter, Instant.now()));
+
+        assertIndexScanOnAccounts(plan);
+        assertThat(plan).contains("ix_accounts_email_trgm");
+    }
+
+    @Test
+    void countByPhoneUsesDigitsTrigramIndex() throws SQLException {
+        var filter = new AccountSearchFilter(
+            SearchPatterns.contains("+375 44 001 2345"), SearchPatterns.phoneDigitsContains("+375 44 001 2345"),
+            true, true, false, false);
+        String plan = explainIssued(() -> accountRepository.countUsers(filter, Instant.now()));
+
+        assertIndexScanOnAccounts(plan);
+        assertThat(plan).contains("ix_accounts_phone_digits_trgm");
+    }
+
+    @Test
+    void searchSliceByTextAvoidsSequentialScan() throws SQLException {
+        var filter = new AccountSearchFilter(
+            SearchPatterns.contains("User12345@"), null, true, true, false, false);
+        String plan = explainIssued(() -> accountRepository.searchUsersKeyset(filter, Instant.now(), null, null, 20));
+
+        assertIndexScanOnAccounts(plan);
+    }
+
+    @Test
+    void typeaheadByPrefixUsesPrefixIndexes() throws SQLException {
+        String plan = explain("""
+            SELECT a.account_id, a.email, a.first_name, a.last_name FROM accounts a
+            WHERE a.is_soft_deleted = false
+              AND (lower(a.email) LIKE 'user1234%' ESCAPE '!'
+                OR lower(a.first_name) LIKE 'user1234%' ESCAPE '!'
+                OR lower(a.last_name) LIKE 'user1234%' ESCAPE '!')
+            ORDER BY lower(a.email)
+            LIMIT 10
+            """);
+
+        assertIndexScanOnAccounts(plan);
+        assertThat(plan).containsAnyOf(
+            "ix_accounts_email_prefix", "ix_accounts_first_name_prefix", "ix_accounts_last_name_prefix");
+    }
+
+    static void assertIndexScanOnAccounts(String plan) {
+        assertThat(plan).contains("Index").doesNotContain("Seq Scan on accounts");
+    }
+
+    /**
+     * Runs {@code call} against a cold second-level cache and returns the generic plans of every statement it sent.
+     */
+    String explainIssued(Runnable call) throws SQLException {
+        entityManagerFactory.getCache().evictAll();
+        ISSUED_STATEMENTS.clear();
+        call.run();
+        assertThat(ISSUED_STATEMENTS).as("statements issued by the repository call").isNotEmpty();
+
+        StringBuilder plans = new StringBuilder();
+        for (String sql : ISSUED_STATEMENTS) {
+            plans.append(explainGeneric(sql));
+        }
+        return plans.toString();
+    }
+
+    static String explainGeneric(String jdbcSql) throws SQLException {
+        StringBuilder sql = new StringBuilder();
+        int parameters = 0;
+        boolean inLiteral = false;
+        for (char c : jdbcSql.toCharArray()) {
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                sql.append('$').append(++parameters);
+            } else {
+                sql.append(c);
+            }
+        }
+        StringJoiner nulls = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < parameters; i++) {
+            nulls.add("NULL");
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+            statement.execute("PREPARE issued AS " + sql);
+            return plan(statement, "EXPLAIN EXECUTE issued" + (parameters > 0 ? nulls : ""));
+        }
+    }
+
+    static String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            return plan(statement, "EXPLAIN " + sql);
+        }
+    }
+
+    static String plan(Statement statement, String explain) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(explain)) {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.vladprotchenko.authservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vladprotchenko.authservice.dto.request.UserSearchRequest;
+import io.vladprotchenko.authservice.model.constant.StreamFormat;
+import io.vladprotchenko.authservice.repository.AccountExportRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports half a million seeded accounts. The {@code slow-tests} profile runs it with {@code -Xmx64m}, so any per-row
+ * buffering of the result set or the output fails the run with an {@code OutOfMemoryError}.
+ */
+@Tag("slow")
+class AccountExportServiceTest {
+
+    static final int SEEDED_ACCOUNTS = 500_000;
+
+    static EmbeddedPostgres postgres;
+    static AccountExportService exportService;
+
+    @BeforeAll
+    static void startDatabase() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                INSERT INTO accounts (account_id, email, first_name, last_name, phone_number, role_id)
+                SELECT gen_random_uuid(), 'user' || i || '@example.com', 'First' || i, 'Last, "' || i || '"',
+                       '+37544' || lpad(i::text, 7, '0'), CASE WHEN i % 10 = 0 THEN 1 ELSE 2 END
+                FROM generate_series(1, %d) AS i
+                """.formatted(SEEDED_ACCOUNTS));
+            statement.execute("ANALYZE accounts");
+        }
+
+        exportService = new AccountExportService(new AccountExportRepository(dataSource), new ObjectMapper());
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void exportsAllAccountsAsNdjsonWithFlatHeap() throws IOException {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long rows = exportService.export(filter(null), StreamFormat.NDJSON, out);
+
+        assertThat(rows).isEqualTo(SEEDED_ACCOUNTS);
+        assertThat(out.lines).isEqualTo(SEEDED_ACCOUNTS);
+    }
+
+    @Test
+    void exportsAllAccountsAsCsvWithFlatHeap() throws IOException {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long rows = exportService.export(filter(null), StreamFormat.CSV, out);
+
+        assertThat(rows).isEqualTo(SEEDED_ACCOUNTS);
+        assertThat(out.lines).isEqualTo(SEEDED_ACCOUNTS + 1);
+    }
+
+    @Test
+    void appliesSearchFilterAndEscapesCsv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(filter("user1234567@"), StreamFormat.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(rows).isEqualTo(1);
+        assertThat(csv).startsWith(AccountExportService.CSV_HEADER)
+            .contains(",user1234567@example.com,First1234567,\"Last, \"\"1234567\"\"\",+375441234567,USER,,false,");
+    }
+
+    @Test
+    void appliesOnlySelectedRolesToPhoneSearch() throws IOException {
+        UserSearchRequest admins = filter("+375 44 000-0010");
+        admins.setUsers(false);
+        UserSearchRequest users = filter("+375 44 000-0010");
+        users.setAdmins(false);
+        UserSearchRequest noRole = filter(null);
+        noRole.setAdmins(false);
+        noRole.setUsers(false);
+
+        assertThat(exportService.export(admins, StreamFormat.NDJSON, OutputStream.nullOutputStream())).isEqualTo(1);
+        assertThat(exportService.export(users, StreamFormat.NDJSON, OutputStream.nullOutputStream())).isZero();
+        assertThat(exportService.export(noRole, StreamFormat.NDJSON, OutputStream.nullOutputStream())).isZero();
+    }
+
+    static UserSearchRequest filter(String searchText) {
+        UserSearchRequest request = new UserSearchRequest();
+        request.setSearchText(searchText);
+        request.setAdmins(true);
+        request.setUsers(true);
+        return request;
+    }
+
+    static class LineCountingOutputStream extends OutputStream {
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
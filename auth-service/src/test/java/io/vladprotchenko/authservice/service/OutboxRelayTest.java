@@ -0,0 +1,200 @@
+package io.vladprotchenko.authservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vladprotchenko.authservice.dto.OutboxMessage;
+import io.vladprotchenko.authservice.repository.OutboxRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxRelayTest {
+
+    static final String TOPIC = "outbox-relay-test";
+    static final String ORDER_TOPIC = "outbox-relay-order-test";
+    static final int BATCH_SIZE = 100;
+
+    static EmbeddedPostgres postgres;
+    static DataSource dataSource;
+    static EmbeddedKafkaKraftBroker kafka;
+    static JdbcTemplate jdbcTemplate;
+    static TransactionTemplate transactionTemplate;
+    static OutboxRepository outboxRepository;
+    static OutboxRelay outboxRelay;
+
+    @BeforeAll
+    static void startInfrastructure() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        kafka = new EmbeddedKafkaKraftBroker(1, 1, TOPIC, ORDER_TOPIC);
+        kafka.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        outboxRepository = new OutboxRepository(jdbcTemplate);
+        outboxRelay = createRelay();
+    }
+
+    static OutboxRelay createRelay() {
+        KafkaProperties kafkaProperties = new KafkaProperties();
+        kafkaProperties.setBootstrapServers(List.of(kafka.getBrokersAsString()));
+        return new OutboxRelay(
+            outboxRepository, transactionTemplate, kafkaProperties, new SimpleMeterRegistry(), BATCH_SIZE, 30, "lz4");
+    }
+
+    @AfterAll
+    static void stopInfrastructure() throws IOException {
+        outboxRelay.close();
+        kafka.destroy();
+        postgres.close();
+    }
+
+    @Test
+    void publishesCommittedEventsInOrderAndDeletesThem() {
+        List<OutboxMessage> messages = IntStream.range(0, 150)
+            .mapToObj(i -> new OutboxMessage(
+                "key-" + i, "io.example.TestEvent", ("{\"n\":" + i + "}").getBytes(StandardCharsets.UTF_8)))
+            .toList();
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.insert(TOPIC, messages));
+
+        assertThat(outboxRelay.publishBatch()).isEqualTo(BATCH_SIZE);
+        assertThat(outboxRelay.publishBatch()).isEqualTo(50);
+        assertThat(outboxRelay.publishBatch()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_events", Long.class)).isZero();
+
+        Map<String, String> received = new HashMap<>();
+        try (Consumer<String, byte[]> consumer = createConsumer()) {
+            kafka.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+            while (received.size() < messages.size()) {
+                ConsumerRecords<String, byte[]> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10));
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    assertThat(new String(
+                        record.headers().lastHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME).value(),
+                        StandardCharsets.UTF_8))
+                        .isEqualTo("io.example.TestEvent");
+                    received.put(record.key(), new String(record.value(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        assertThat(received).hasSize(messages.size());
+        assertThat(received).containsEntry("key-0", "{\"n\":0}").containsEntry("key-149", "{\"n\":149}");
+    }
+
+    @Test
+    void keepsEventsOfRolledBackTransactionsOutOfTheOutbox() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.insert(TOPIC, List.of(new OutboxMessage("rolled-back", "io.example.TestEvent", new byte[0])));
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxRelay.publishBatch()).isZero();
+    }
+
+    @Test
+    void skipsThePollWhileAnotherRelayHoldsTheLock() throws SQLException {
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.insert(
+            TOPIC, List.of(new OutboxMessage("locked", "io.example.TestEvent", new byte[0]))));
+
+        try (Connection otherRelay = dataSource.getConnection()) {
+            otherRelay.setAutoCommit(false);
+            try (PreparedStatement lock = otherRelay.prepareStatement("SELECT pg_try_advisory_xact_lock(?)")) {
+                lock.setLong(1, OutboxRepository.RELAY_LOCK_KEY);
+                lock.execute();
+            }
+
+            assertThat(outboxRelay.publishBatch()).isZero();
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_events", Long.class)).isOne();
+
+            otherRelay.rollback();
+        }
+
+        assertThat(outboxRelay.publishBatch()).isOne();
+    }
+
+    @Test
+    void concurrentRelaysKeepPerKeyOrder() throws Exception {
+        int events = 2_000;
+        int keys = 10;
+        List<OutboxMessage> messages = IntStream.range(0, events)
+            .mapToObj(i -> new OutboxMessage(
+                "order-" + (i % keys), "io.example.TestEvent", String.valueOf(i).getBytes(StandardCharsets.UTF_8)))
+            .toList();
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.insert(ORDER_TOPIC, messages));
+
+        OutboxRelay secondRelay = createRelay();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            List<Future<?>> relays = new ArrayList<>();
+            for (OutboxRelay relay : List.of(outboxRelay, secondRelay)) {
+                relays.add(executor.submit(() -> {
+                    while (jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_events", Long.class) > 0) {
+                        relay.publishBatch();
+                    }
+                }));
+            }
+            for (Future<?> relay : relays) {
+                relay.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            secondRelay.close();
+        }
+
+        Map<String, List<Integer>> receivedByKey = new HashMap<>();
+        int received = 0;
+        try (Consumer<String, byte[]> consumer = createConsumer()) {
+            kafka.consumeFromAnEmbeddedTopic(consumer, ORDER_TOPIC);
+            while (received < events) {
+                ConsumerRecords<String, byte[]> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10));
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    receivedByKey.computeIfAbsent(record.key(), key -> new ArrayList<>())
+                        .add(Integer.parseInt(new String(record.value(), StandardCharsets.UTF_8)));
+                    received++;
+                }
+            }
+        }
+
+        assertThat(receivedByKey).hasSize(keys);
+        receivedByKey.values().forEach(sequence -> assertThat(sequence).isSorted().doesNotHaveDuplicates());
+    }
+
+    private static Consumer<String, byte[]> createConsumer() {
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-relay-test", "false", kafka);
+        return new DefaultKafkaConsumerFactory<>(consumerProps, new StringDeserializer(), new ByteArrayDeserializer())
+            .createConsumer();
+    }
+}
@@ -0,0 +1,150 @@
+package io.vladprotchenko.authservice.service;
+
+import io.vladprotchenko.authservice.model.Account;
+import io.vladprotchenko.authservice.util.HmacSigner;
+import io.vladprotchenko.ensstartercore.exception.custom.AuthorizationException;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Redeems one reset link from two transactions at once against a real database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(PasswordResetLinkService.class)
+class PasswordResetLinkRedemptionTest {
+
+    static final String INITIAL_HASH = "$2a$10$initialHash";
+
+    static EmbeddedPostgres postgres;
+
+    @Autowired
+    PasswordResetLinkService passwordResetLinkService;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class Signing {
+
+        @Bean
+        HmacSigner hmacSigner() {
+            return RefreshTokenServiceTest.signerWithSecret("0123456789abcdef0123456789abcdef");
+        }
+    }
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).locations("classpath:db/migration").load()
+            .migrate();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("app.passwordReset.linkUrl", () -> "https://app.example.com/reset-password");
+        registry.add("app.passwordReset.linkExpirationMinutes", () -> "30");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void secondConcurrentRedemptionWaitsAndIsRejected() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        jdbcTemplate.update("""
+            INSERT INTO accounts (account_id, email, first_name, last_name, password_hash, role_id)
+            VALUES (?, 'jane.doe@example.com', 'Jane', 'Doe', ?, 2)
+            """, accountId, INITIAL_HASH);
+        String token = token(passwordResetLinkService.createLink(
+            new Account().setAccountId(accountId).setPasswordHash(INITIAL_HASH)));
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch firstResolved = new CountDownLatch(1);
+        CountDownLatch firstMayCommit = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                Account account = passwordResetLinkService.resolve(token);
+                account.setPasswordHash("$2a$10$firstHash");
+                firstResolved.countDown();
+                await(firstMayCommit);
+            }));
+            assertThat(firstResolved.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                Account account = passwordResetLinkService.resolve(token);
+                account.setPasswordHash("$2a$10$secondHash");
+            }));
+            assertThatThrownBy(() -> second.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            firstMayCommit.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            assertThatThrownBy(() -> second.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AuthorizationException.class);
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT password_hash FROM accounts WHERE account_id = ?", String.class, accountId))
+            .isEqualTo("$2a$10$firstHash");
+    }
+
+    @Test
+    void resolveRequiresSurroundingTransaction() {
+        assertThatThrownBy(() -> passwordResetLinkService.resolve("payload.signature"))
+            .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String token(String link) {
+        return UriComponentsBuilder.fromUriString(link).build()
+            .getQueryParams()
+            .getFirst(PasswordResetLinkService.TOKEN_PARAM);
+    }
+}
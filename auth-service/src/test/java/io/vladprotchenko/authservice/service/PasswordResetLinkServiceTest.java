@@ -0,0 +1,120 @@
+package io.vladprotchenko.authservice.service;
+
+import io.vladprotchenko.authservice.model.Account;
+import io.vladprotchenko.authservice.repository.AccountRepository;
+import io.vladprotchenko.authservice.util.HmacSigner;
+import io.vladprotchenko.ensstartercore.exception.custom.AuthorizationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordResetLinkServiceTest {
+
+    static final String LINK_URL = "https://app.example.com/reset-password";
+    static final int EXPIRATION_MINUTES = 30;
+
+    HmacSigner hmacSigner;
+    AccountRepository accountRepository;
+    Account account;
+    PasswordResetLinkService passwordResetLinkService;
+
+    @BeforeEach
+    void setUp() {
+        hmacSigner = RefreshTokenServiceTest.signerWithSecret("0123456789abcdef0123456789abcdef");
+        account = new Account().setEmail("jane.doe@example.com").setPasswordHash("$2a$10$initialHash");
+
+        accountRepository = mock(AccountRepository.class);
+        when(accountRepository.findByAccountIdForUpdate(account.getAccountId())).thenReturn(Optional.of(account));
+        passwordResetLinkService = new PasswordResetLinkService(
+            hmacSigner, accountRepository, LINK_URL, EXPIRATION_MINUTES);
+    }
+
+    @Test
+    void resolvesAccountOfValidLink() {
+        String link = passwordResetLinkService.createLink(account);
+
+        assertThat(link).startsWith(LINK_URL + "?" + PasswordResetLinkService.TOKEN_PARAM + "=");
+        assertThat(passwordResetLinkService.resolve(token(link))).isSameAs(account);
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = token(passwordResetLinkService.createLink(account));
+        int separator = token.indexOf('.');
+        byte[] payload = Base64.getUrlDecoder().decode(token.substring(0, separator));
+        payload[payload.length - 1] ^= 1;
+
+        assertRejected(Base64.getUrlEncoder().withoutPadding().encodeToString(payload) + token.substring(separator));
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = token(passwordResetLinkService.createLink(account));
+        int signatureStart = token.indexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+
+        assertRejected(token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A')
+            + token.substring(signatureStart + 1));
+        assertRejected(token.substring(0, signatureStart));
+    }
+
+    @Test
+    void rejectsPayloadOfWrongLength() {
+        byte[] payload = ByteBuffer.allocate(PasswordResetLinkService.PAYLOAD_LENGTH + 8)
+            .putLong(account.getAccountId().getMostSignificantBits())
+            .putLong(account.getAccountId().getLeastSignificantBits())
+            .putLong(Instant.now().plusSeconds(60).getEpochSecond())
+            .array();
+        String signature = hmacSigner.sign(PasswordResetLinkService.SIGNATURE_PURPOSE, payload);
+
+        assertRejected(Base64.getUrlEncoder().withoutPadding().encodeToString(payload) + "." + signature);
+        assertRejected("no-separator");
+        assertRejected("!!!." + signature);
+    }
+
+    @Test
+    void rejectsExpiredLink() {
+        PasswordResetLinkService expiredLinks =
+            new PasswordResetLinkService(hmacSigner, accountRepository, LINK_URL, -1);
+
+        assertRejected(token(expiredLinks.createLink(account)));
+    }
+
+    @Test
+    void rejectsLinkReusedAfterPasswordChange() {
+        String token = token(passwordResetLinkService.createLink(account));
+        assertThat(passwordResetLinkService.resolve(token)).isSameAs(account);
+
+        account.setPasswordHash("$2a$10$changedHash");
+
+        assertRejected(token);
+    }
+
+    @Test
+    void rejectsLinkOfUnknownAccount() {
+        Account deleted = new Account().setEmail("gone@example.com").setPasswordHash("$2a$10$someHash");
+
+        assertRejected(token(passwordResetLinkService.createLink(deleted)));
+    }
+
+    private void assertRejected(String token) {
+        assertThatThrownBy(() -> passwordResetLinkService.resolve(token))
+            .isInstanceOf(AuthorizationException.class);
+    }
+
+    private static String token(String link) {
+        return UriComponentsBuilder.fromUriString(link).build()
+            .getQueryParams()
+            .getFirst(PasswordResetLinkService.TOKEN_PARAM);
+    }
+}
@@ -0,0 +1,153 @@
+package io.vladprotchenko.authservice.service;
+
+import io.vladprotchenko.authservice.model.Account;
+import io.vladprotchenko.authservice.repository.AccountRepository;
+import io.vladprotchenko.authservice.repository.RefreshTokenRepository;
+import io.vladprotchenko.authservice.service.RefreshTokenService.VerifiedRefreshToken;
+import io.vladprotchenko.authservice.util.HmacSigner;
+import io.vladprotchenko.ensstartercore.security.service.JwtTokenValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    static final String EMAIL = "jane.doe@example.com";
+    static final int DURATION_S = 3_600;
+
+    HmacSigner hmacSigner;
+    Account account;
+    RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        hmacSigner = signerWithSecret("0123456789abcdef0123456789abcdef");
+        account = new Account().setEmail(EMAIL);
+
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(account));
+        refreshTokenService = new RefreshTokenService(
+            mock(RefreshTokenRepository.class), accountRepository, hmacSigner, DURATION_S, false);
+    }
+
+    @Test
+    void verifiesIssuedToken() {
+        Instant issuedAt = Instant.now();
+        String token = refreshTokenService.createRefreshToken(EMAIL);
+        Instant returnedAt = Instant.now();
+
+        VerifiedRefreshToken verified = refreshTokenService.verify(token, returnedAt).orElseThrow();
+
+        assertThat(verified.accountId()).isEqualTo(account.getAccountId());
+        assertThat(verified.tokenId()).isNotNull();
+        assertThat(verified.expiresAt()).isBetween(
+            issuedAt.plusSeconds(DURATION_S - 1), returnedAt.plusSeconds(DURATION_S));
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = refreshTokenService.createRefreshToken(EMAIL);
+        int separator = token.indexOf('.');
+        byte[] payload = Base64.getUrlDecoder().decode(token.substring(0, separator));
+        payload[0] ^= 1;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(payload) + token.substring(separator);
+
+        assertThat(refreshTokenService.verify(tampered, Instant.now())).isEmpty();
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = refreshTokenService.createRefreshToken(EMAIL);
+        int signatureStart = token.indexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        String tampered = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A')
+            + token.substring(signatureStart + 1);
+
+        assertThat(refreshTokenService.verify(tampered, Instant.now())).isEmpty();
+        assertThat(refreshTokenService.verify(token.substring(0, signatureStart), Instant.now())).isEmpty();
+        assertThat(refreshTokenService.verify(token + "!", Instant.now())).isEmpty();
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherSecret() {
+        String token = refreshTokenService.createRefreshToken(EMAIL);
+        RefreshTokenService otherService = new RefreshTokenService(
+            null, null, signerWithSecret("fedcba9876543210fedcba9876543210"), DURATION_S, false);
+
+        assertThat(otherService.verify(token, Instant.now())).isEmpty();
+    }
+
+    @Test
+    void rejectsValueSignedForAnotherPurpose() {
+        byte[] payload = payload(RefreshTokenService.PAYLOAD_LENGTH, Instant.now().plusSeconds(DURATION_S));
+        String token = encode(payload) + "." + hmacSigner.sign(PasswordResetLinkService.SIGNATURE_PURPOSE, payload);
+
+        assertThat(refreshTokenService.verify(token, Instant.now())).isEmpty();
+    }
+
+    @Test
+    void rejectsSignedPayloadOfWrongLength() {
+        Instant expiresAt = Instant.now().plusSeconds(DURATION_S);
+        for (int length : new int[] {RefreshTokenService.PAYLOAD_LENGTH - 8, RefreshTokenService.PAYLOAD_LENGTH + 8}) {
+            byte[] payload = payload(length, expiresAt);
+            String token = encode(payload) + "." + hmacSigner.sign(RefreshTokenService.SIGNATURE_PURPOSE, payload);
+
+            assertThat(refreshTokenService.verify(token, Instant.now())).as("length %s", length).isEmpty();
+        }
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = refreshTokenService.createRefreshToken(EMAIL);
+        Instant expiresAt = refreshTokenService.verify(token, Instant.now()).orElseThrow().expiresAt();
+
+        assertThat(refreshTokenService.verify(token, expiresAt.minusSeconds(1))).isPresent();
+        assertThat(refreshTokenService.verify(token, expiresAt)).isEmpty();
+        assertThat(refreshTokenService.verify(token, expiresAt.plusSeconds(1))).isEmpty();
+    }
+
+    @Test
+    void acceptsUnsignedUuidOnlyWhenEnabled() {
+        UUID tokenId = UUID.randomUUID();
+        RefreshTokenService acceptingUnsigned = new RefreshTokenService(null, null, hmacSigner, DURATION_S, true);
+
+        assertThat(refreshTokenService.verify(tokenId.toString(), Instant.now())).isEmpty();
+        assertThat(acceptingUnsigned.verify(tokenId.toString(), Instant.now()))
+            .contains(new VerifiedRefreshToken(null, tokenId, null));
+        assertThat(acceptingUnsigned.verify("not-a-uuid", Instant.now())).isEmpty();
+    }
+
+    static HmacSigner signerWithSecret(String secret) {
+        JwtTokenValidator jwtTokenValidator = mock(JwtTokenValidator.class);
+        when(jwtTokenValidator.getSigningKey())
+            .thenReturn(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return new HmacSigner(jwtTokenValidator);
+    }
+
+    private static byte[] payload(int length, Instant expiresAt) {
+        UUID accountId = UUID.randomUUID();
+        UUID tokenId = UUID.randomUUID();
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putLong(accountId.getMostSignificantBits()).putLong(accountId.getLeastSignificantBits());
+        buffer.putLong(tokenId.getMostSignificantBits());
+        if (length >= RefreshTokenService.PAYLOAD_LENGTH) {
+            buffer.putLong(tokenId.getLeastSignificantBits()).putLong(expiresAt.getEpochSecond());
+        }
+        return buffer.array();
+    }
+
+    private static String encode(byte[] payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload);
+    }
+}